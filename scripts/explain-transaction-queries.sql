@@ -0,0 +1,50 @@
+-- explain-transaction-queries.sql - Planos das consultas quentes de financial_transactions (PostgreSQL)
+--
+--   psql "$DATABASE_URL" -v user_id=1 -v account_id=1 -f scripts/explain-transaction-queries.sql \
+--       | grep -B2 -A2 "Seq Scan on financial_transactions"
+--
+-- Nenhuma linha no grep = todos os caminhos usam índice. Rode após carga realista (ANALYZE):
+-- com tabelas pequenas o planner prefere Seq Scan de propósito.
+
+ANALYZE financial_transactions;
+ANALYZE accounts;
+
+-- Conta (primeira página / cursor): idx_transactions_from|to_account_created_id
+EXPLAIN SELECT t.id FROM financial_transactions t
+WHERE t.from_account_id = :account_id OR t.to_account_id = :account_id
+ORDER BY t.created_at DESC, t.id DESC LIMIT 21;
+
+EXPLAIN SELECT t.id FROM financial_transactions t
+WHERE (t.from_account_id = :account_id OR t.to_account_id = :account_id)
+  AND (t.created_at < now() OR (t.created_at = now() AND t.id < 1000))
+ORDER BY t.created_at DESC, t.id DESC LIMIT 21;
+
+-- Usuário (INVOLVES_ACCOUNTS): ids das contas resolvidos antes (findAccountIdsByUserId),
+-- então cada lado vira Index Cond e o OR é um BitmapOr
+SELECT string_agg(id::text, ',') AS account_ids FROM accounts WHERE user_id = :user_id \gset
+
+EXPLAIN SELECT t.id FROM financial_transactions t
+WHERE t.from_account_id IN (:account_ids) OR t.to_account_id IN (:account_ids)
+ORDER BY t.created_at DESC, t.id DESC LIMIT 21;
+
+EXPLAIN SELECT count(t.id) FROM financial_transactions t
+WHERE t.from_account_id IN (:account_ids) OR t.to_account_id IN (:account_ids);
+
+-- Busca por critério: usuário + período
+EXPLAIN SELECT t.id FROM financial_transactions t
+WHERE (t.from_account_id IN (:account_ids) OR t.to_account_id IN (:account_ids))
+  AND t.created_at >= now() - interval '30 days' AND t.created_at <= now()
+ORDER BY t.created_at DESC, t.id DESC LIMIT 21;
+
+-- Status: idx_transactions_status_created_id
+EXPLAIN SELECT t.id FROM financial_transactions t
+WHERE t.status = 'PENDING'
+ORDER BY t.created_at DESC, t.id DESC LIMIT 21;
+
+-- Período sem outros filtros: idx_transactions_created_at_id
+EXPLAIN SELECT t.id FROM financial_transactions t
+WHERE t.created_at >= now() - interval '1 day'
+ORDER BY t.created_at DESC, t.id DESC LIMIT 21;
+
+-- Referência: idx_transactions_reference
+EXPLAIN SELECT t.id FROM financial_transactions t WHERE t.reference_number = 'TXN-0000000000';
@@ -0,0 +1,103 @@
+// load-test-transfers.js - Carga no endpoint de transferências (k6)
+//
+// Compara platform threads x virtual threads com a mesma carga:
+//
+//   1) mvn -Pjava21 package
+//   2) APP_VIRTUAL_THREADS=false java -jar target/*.jar --spring.profiles.active=docker
+//      k6 run -e BASE_URL=http://localhost:8080 scripts/load-test-transfers.js --summary-export platform.json
+//   3) APP_VIRTUAL_THREADS=true  java -jar target/*.jar --spring.profiles.active=docker
+//      k6 run -e BASE_URL=http://localhost:8080 scripts/load-test-transfers.js --summary-export virtual.json
+//
+// Comparar http_req_duration (p95/p99), http_reqs/s e a taxa de erros, e no Prometheus
+// hikaricp_connections_pending e app_service_seconds. Para detectar pinning de virtual
+// threads (synchronized + I/O, driver JDBC) rode a JVM com -Djdk.tracePinnedThreads=short.
+//
+// Resultado (JDK 21, 1 CPU, PostgreSQL 16 local, cliente e servidor na mesma máquina, cache LOCAL
+// em vez de Redis; estágios reduzidos para 30s/60s/15s e 100 pares; duas rodadas por modo, banco
+// recriado a cada rodada). Pool do Hikari = 3 conexões (1 núcleo * 2 + 1), connection-timeout 2s.
+// Valores do patamar de pico:
+//
+//   VUs  modo      req/s          p95 (ms)     erros
+//    40  platform   64.7 / 65.5   1074 / 1055  0.03% / 0.03%
+//    40  virtual    51.8 / 48.7   1984 / 2074  3.2%  / 5.3%
+//   200  platform  128.7 / 106.2  2088 / 2629  23%   / 46%
+//   200  virtual    93.4 / 95.9   3431 / 3380  58%   / 53%
+//
+// Com virtual threads o Tomcat deixa de enfileirar as requisições nas 200 threads do pool e todas
+// disputam as 3 conexões do Hikari; as que passam de 2s recebem 503. Sem pinning no caminho da
+// transferência (o único evento foi a inicialização do HikariDataSource). Com virtual threads
+// dimensione spring.datasource.hikari.maximum-pool-size para a concorrência esperada; com o pool
+// calculado pela CPU, platform threads rendeu mais nesta máquina.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PASSWORD = 'LoadTest#2024';
+
+export const options = {
+    setupTimeout: '5m',
+    scenarios: {
+        transfers: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '1m', target: 1000 },
+                { duration: '1m', target: 1000 },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<1000'],
+    },
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+// Vários usuários, cada um com duas contas bem financiadas. Cada VU transfere em ping-pong
+// dentro do seu par, para medir o runtime e não a disputa de lock numa única linha
+const PAIRS = parseInt(__ENV.PAIRS || '100', 10);
+
+export function setup() {
+    const prefix = `load_${Date.now()}`;
+    const pairs = [];
+
+    for (let i = 0; i < PAIRS; i++) {
+        const username = `${prefix}_${i}`;
+        http.post(`${BASE_URL}/api/auth/register`, JSON.stringify({
+            username: username,
+            email: `${username}@example.com`,
+            password: PASSWORD,
+            confirmPassword: PASSWORD,
+            firstName: 'Load',
+            lastName: 'Test',
+        }), { headers: JSON_HEADERS });
+
+        const login = http.post(`${BASE_URL}/api/auth/login`,
+            JSON.stringify({ username: username, password: PASSWORD }), { headers: JSON_HEADERS });
+        const headers = Object.assign({ Authorization: `Bearer ${login.json('token')}` }, JSON_HEADERS);
+
+        const accounts = ['CHECKING', 'SAVINGS'].map((type) => http.post(`${BASE_URL}/api/accounts`,
+            JSON.stringify({ accountType: type, initialDeposit: 1000000000 }), { headers: headers })
+            .json('accountNumber'));
+
+        pairs.push({ headers: headers, accounts: accounts });
+    }
+
+    return { pairs: pairs };
+}
+
+export default function (data) {
+    const pair = data.pairs[(__VU - 1) % data.pairs.length];
+    const forward = __ITER % 2 === 0;
+    const res = http.post(`${BASE_URL}/api/transactions/transfer`, JSON.stringify({
+        fromAccountNumber: pair.accounts[forward ? 0 : 1],
+        toAccountNumber: pair.accounts[forward ? 1 : 0],
+        amount: 1.00,
+        description: 'load test',
+    }), { headers: pair.headers, tags: { name: 'transfer' } });
+
+    check(res, { 'transfer 200': (r) => r.status === 200 });
+}
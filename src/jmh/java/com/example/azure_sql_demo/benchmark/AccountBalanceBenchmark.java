@@ -0,0 +1,41 @@
+// AccountBalanceBenchmark.java - Aritmética BigDecimal de saldo/limite
+package com.example.azure_sql_demo.benchmark;
+
+import com.example.azure_sql_demo.model.Account;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountBalanceBenchmark {
+
+    private Account account;
+    private BigDecimal amount;
+
+    @Setup
+    public void setUp() {
+        account = Account.builder()
+                .accountNumber("ACC-BENCH-0001")
+                .accountType(Account.AccountType.CHECKING)
+                .balance(new BigDecimal("15234.57"))
+                .creditLimit(new BigDecimal("5000.00"))
+                .build();
+        amount = new BigDecimal("1250.35");
+    }
+
+    @Benchmark
+    public BigDecimal getAvailableBalance() {
+        return account.getAvailableBalance();
+    }
+
+    @Benchmark
+    public boolean canDebit() {
+        return account.canDebit(amount);
+    }
+}
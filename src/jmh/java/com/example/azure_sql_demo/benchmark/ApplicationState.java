@@ -0,0 +1,67 @@
+// ApplicationState.java - Contexto Spring (perfil local, H2) compartilhado pelos benchmarks
+package com.example.azure_sql_demo.benchmark;
+
+import com.example.azure_sql_demo.AzureSqlDemoApplication;
+import com.example.azure_sql_demo.dto.AccountDTO;
+import com.example.azure_sql_demo.dto.CreateAccountRequest;
+import com.example.azure_sql_demo.model.Account;
+import com.example.azure_sql_demo.model.User;
+import com.example.azure_sql_demo.repository.UserRepository;
+import com.example.azure_sql_demo.service.AccountService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+
+/**
+ * Boots the application once per trial against the in-memory H2 database of the local
+ * profile and opens two funded accounts for the money-movement benchmarks.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    ConfigurableApplicationContext context;
+    AccountDTO firstAccount;
+    AccountDTO secondAccount;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Command-line arguments: unlike builder properties they take precedence over application-local.yml
+        context = new SpringApplicationBuilder(AzureSqlDemoApplication.class)
+                .profiles("local")
+                .run(
+                        "--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.azure_sql_demo=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .username("benchmark_" + System.nanoTime())
+                .email("benchmark_" + System.nanoTime() + "@example.com")
+                .password("benchmark-password")
+                .build());
+
+        AccountService accountService = context.getBean(AccountService.class);
+        firstAccount = accountService.createAccountForUser(fundedAccount(Account.AccountType.CHECKING), user.getId());
+        secondAccount = accountService.createAccountForUser(fundedAccount(Account.AccountType.SAVINGS), user.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private CreateAccountRequest fundedAccount(Account.AccountType type) {
+        return CreateAccountRequest.builder()
+                .accountType(type)
+                .initialDeposit(new BigDecimal("1000000000.00"))
+                .build();
+    }
+}
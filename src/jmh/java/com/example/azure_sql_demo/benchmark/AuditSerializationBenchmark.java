@@ -0,0 +1,59 @@
+// AuditSerializationBenchmark.java - Serialização JSON da auditoria
+package com.example.azure_sql_demo.benchmark;
+
+import com.example.azure_sql_demo.model.Account;
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import com.example.azure_sql_demo.service.AuditService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuditService entry points: JSON serialization of the audit payload plus hand-off to the
+ * audit writer (ASYNC mode in the local profile, so no database write on this thread).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AuditSerializationBenchmark {
+
+    private AuditService auditService;
+    private Account account;
+    private FinancialTransaction transaction;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        auditService = application.context.getBean(AuditService.class);
+        account = Account.builder()
+                .id(application.firstAccount.getId())
+                .accountNumber(application.firstAccount.getAccountNumber())
+                .accountType(Account.AccountType.CHECKING)
+                .balance(new BigDecimal("15234.57"))
+                .creditLimit(new BigDecimal("5000.00"))
+                .build();
+        transaction = FinancialTransaction.builder()
+                .id(42L)
+                .transactionType(FinancialTransaction.TransactionType.DEPOSIT)
+                .amount(new BigDecimal("1250.35"))
+                .referenceNumber("DEP-BENCH-0001")
+                .status(FinancialTransaction.TransactionStatus.COMPLETED)
+                .processedAt(LocalDateTime.now())
+                .toAccount(account)
+                .build();
+    }
+
+    @Benchmark
+    public void logAccountDeposit() {
+        auditService.logAccountDeposit(account, new BigDecimal("1250.35"), new BigDecimal("13984.22"));
+    }
+
+    @Benchmark
+    public void logFinancialTransaction() {
+        auditService.logFinancialTransaction(transaction);
+    }
+}
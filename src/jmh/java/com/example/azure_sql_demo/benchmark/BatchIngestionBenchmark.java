@@ -0,0 +1,83 @@
+// BatchIngestionBenchmark.java - Ingestão em lote vs. uma transação por chamada
+package com.example.azure_sql_demo.benchmark;
+
+import com.example.azure_sql_demo.dto.BatchTransactionResponse;
+import com.example.azure_sql_demo.dto.CreateTransactionRequest;
+import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import com.example.azure_sql_demo.service.BatchTransactionService;
+import com.example.azure_sql_demo.service.FinancialTransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactions per second through createTransaction() (one item per call) and through
+ * processBatch() (an NDJSON payload of BATCH_ITEMS items). Both paths get the same alternating
+ * transfers between the two benchmark accounts; scores are per item, so they compare directly.
+ * Service level only: the HTTP round trip the per-request path pays for each item is not included.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchIngestionBenchmark {
+
+    private static final int BATCH_ITEMS = 5000;
+
+    private FinancialTransactionService transactionService;
+    private BatchTransactionService batchTransactionService;
+    private CreateTransactionRequest forward;
+    private CreateTransactionRequest backward;
+    private byte[] payload;
+    private boolean reverse;
+
+    @Setup
+    public void setUp(ApplicationState application) throws IOException {
+        transactionService = application.context.getBean(FinancialTransactionService.class);
+        batchTransactionService = application.context.getBean(BatchTransactionService.class);
+        forward = transfer(application.firstAccount.getAccountNumber(), application.secondAccount.getAccountNumber());
+        backward = transfer(application.secondAccount.getAccountNumber(), application.firstAccount.getAccountNumber());
+
+        ObjectMapper objectMapper = application.context.getBean(ObjectMapper.class);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        for (int i = 0; i < BATCH_ITEMS; i++) {
+            ndjson.write(objectMapper.writeValueAsBytes(i % 2 == 0 ? forward : backward));
+            ndjson.write('\n');
+        }
+        payload = ndjson.toByteArray();
+    }
+
+    @Benchmark
+    public FinancialTransactionDTO perRequest() {
+        reverse = !reverse;
+        return transactionService.createTransaction(reverse ? backward : forward);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_ITEMS)
+    public BatchTransactionResponse batch() throws IOException {
+        BatchTransactionResponse response = batchTransactionService.processBatch(new ByteArrayInputStream(payload));
+        if (response.getSucceeded() != BATCH_ITEMS) {
+            throw new IllegalStateException(response.getFailed() + " batch items failed");
+        }
+        return response;
+    }
+
+    private CreateTransactionRequest transfer(String from, String to) {
+        return CreateTransactionRequest.builder()
+                .fromAccountNumber(from)
+                .toAccountNumber(to)
+                .amount(new BigDecimal("10.00"))
+                .transactionType(FinancialTransaction.TransactionType.TRANSFER)
+                .description("Benchmark ingestion")
+                .build();
+    }
+}
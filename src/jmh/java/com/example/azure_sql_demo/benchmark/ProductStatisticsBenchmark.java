@@ -0,0 +1,88 @@
+// ProductStatisticsBenchmark.java - Estatísticas de produtos com catálogo grande
+package com.example.azure_sql_demo.benchmark;
+
+import com.example.azure_sql_demo.dto.ProductStatsDTO;
+import com.example.azure_sql_demo.service.ProductService;
+import com.example.azure_sql_demo.service.ProductStatsTracker;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product statistics against catalogs of increasing size, through both paths:
+ * getProductStatistics() serves the tracker snapshot, calculateProductStatistics() runs the
+ * aggregate queries. The tracker is reconciled after seeding, so the snapshot covers the seeded
+ * rows. With the gc profiler (default in the benchmarks profile) the snapshot's gc.alloc.rate.norm
+ * should stay flat from 10k to 1M products. The aggregate path grows with the catalog here
+ * because H2 scans inside the benchmark JVM; against a database server only the result crosses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductStatisticsBenchmark {
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (name, description, price, quantity, category, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 5000;
+
+    @Param({"10000", "1000000"})
+    private int productCount;
+
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void seed(ApplicationState application) {
+        productService = application.context.getBean(ProductService.class);
+
+        JdbcTemplate jdbcTemplate = application.context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < productCount; i++) {
+            batch.add(new Object[]{
+                    "Benchmark product " + i,
+                    "Seeded for ProductStatisticsBenchmark",
+                    BigDecimal.valueOf(100 + i % 100_000, 2),
+                    i % 50,
+                    "Category " + i % 40,
+                    i % 10 != 0,
+                    now,
+                    now});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, batch);
+        }
+
+        // Rows inserted over JDBC bypass ProductService; the startup reconcile ran before them
+        ProductStatsTracker tracker = application.context.getBean(ProductStatsTracker.class);
+        tracker.reconcile();
+        ProductStatsDTO snapshot = tracker.getSnapshot();
+        if (snapshot == null || snapshot.getTotalProducts() < productCount) {
+            throw new IllegalStateException("Product statistics snapshot does not cover the seeded catalog");
+        }
+    }
+
+    @Benchmark
+    public ProductStatsDTO snapshot() {
+        return productService.getProductStatistics();
+    }
+
+    @Benchmark
+    public ProductStatsDTO aggregateQuery() {
+        return productService.calculateProductStatistics();
+    }
+}
@@ -0,0 +1,46 @@
+// TransactionMapperBenchmark.java - Entidade -> DTO (MapStruct)
+package com.example.azure_sql_demo.benchmark;
+
+import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
+import com.example.azure_sql_demo.mapper.FinancialTransactionMapper;
+import com.example.azure_sql_demo.mapper.FinancialTransactionMapperImpl;
+import com.example.azure_sql_demo.model.Account;
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionMapperBenchmark {
+
+    private final FinancialTransactionMapper mapper = new FinancialTransactionMapperImpl();
+    private FinancialTransaction transaction;
+
+    @Setup
+    public void setUp() {
+        transaction = FinancialTransaction.builder()
+                .id(42L)
+                .transactionType(FinancialTransaction.TransactionType.TRANSFER)
+                .amount(new BigDecimal("1250.35"))
+                .description("Benchmark transfer")
+                .referenceNumber("TRF-BENCH-0001")
+                .status(FinancialTransaction.TransactionStatus.COMPLETED)
+                .processedAt(LocalDateTime.now())
+                .fromAccount(Account.builder().id(1L).accountNumber("ACC-BENCH-0001").build())
+                .toAccount(Account.builder().id(2L).accountNumber("ACC-BENCH-0002").build())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public FinancialTransactionDTO toDTO() {
+        return mapper.toDTO(transaction);
+    }
+}
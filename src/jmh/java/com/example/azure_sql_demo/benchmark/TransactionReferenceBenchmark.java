@@ -0,0 +1,21 @@
+// TransactionReferenceBenchmark.java - Geração de número de referência
+package com.example.azure_sql_demo.benchmark;
+
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import com.example.azure_sql_demo.service.TransactionReferenceGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionReferenceBenchmark {
+
+    @Benchmark
+    public String generateReferenceNumber() {
+        return TransactionReferenceGenerator.generate(FinancialTransaction.TransactionType.TRANSFER);
+    }
+}
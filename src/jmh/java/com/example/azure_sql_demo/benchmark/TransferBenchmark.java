@@ -0,0 +1,50 @@
+// TransferBenchmark.java - transfer() ponta a ponta contra H2 embarcado
+package com.example.azure_sql_demo.benchmark;
+
+import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
+import com.example.azure_sql_demo.dto.TransferRequest;
+import com.example.azure_sql_demo.service.FinancialTransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full transfer path: locking, balance updates, transaction row and audit capture.
+ * Alternates direction so the balances stay put across iterations.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferBenchmark {
+
+    private FinancialTransactionService transactionService;
+    private TransferRequest forward;
+    private TransferRequest backward;
+    private boolean reverse;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        transactionService = application.context.getBean(FinancialTransactionService.class);
+        forward = transfer(application.firstAccount.getAccountNumber(), application.secondAccount.getAccountNumber());
+        backward = transfer(application.secondAccount.getAccountNumber(), application.firstAccount.getAccountNumber());
+    }
+
+    @Benchmark
+    public FinancialTransactionDTO transfer() {
+        reverse = !reverse;
+        return transactionService.transfer(reverse ? backward : forward);
+    }
+
+    private TransferRequest transfer(String from, String to) {
+        return TransferRequest.builder()
+                .fromAccountNumber(from)
+                .toAccountNumber(to)
+                .amount(new BigDecimal("10.00"))
+                .description("Benchmark transfer")
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+// TwoLevelCache.java - Cache em dois níveis (Caffeine local + Redis)
+package com.example.azure_sql_demo.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine L1 in front of a shared Redis L2.
+ *
+ * Reads hit L1 first and fall back to L2, promoting what they find. Evictions and clears go
+ * to both tiers and are broadcast so the other nodes drop their L1 copy. Redis failures are
+ * logged and treated as a miss: the node keeps serving from L1 and the database.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache localCache;
+    private final Cache remoteCache;
+    private final TwoLevelCacheManager cacheManager;
+
+    TwoLevelCache(String name, CaffeineCache localCache, Cache remoteCache, TwoLevelCacheManager cacheManager) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public CaffeineCache getLocalCache() {
+        return localCache;
+    }
+
+    // ========== READS ==========
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper value = localCache.get(localKey);
+        if (value != null) {
+            return value;
+        }
+
+        value = remoteGet(key);
+        if (value != null) {
+            localCache.put(localKey, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return localCache.get(localKey(key), () -> {
+            ValueWrapper remote = remoteGet(key);
+            if (remote != null) {
+                return (T) remote.get();
+            }
+            T value = valueLoader.call();
+            remotePut(key, value);
+            return value;
+        });
+    }
+
+    // ========== WRITES ==========
+
+    @Override
+    public void put(Object key, Object value) {
+        remotePut(key, value);
+        localCache.put(localKey(key), value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        try {
+            remoteCache.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Remote evict failed for {}::{}: {}", name, localKey, e.getMessage());
+        }
+        localCache.evict(localKey);
+        cacheManager.publishInvalidation(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remoteCache.clear();
+        } catch (RuntimeException e) {
+            log.warn("Remote clear failed for {}: {}", name, e.getMessage());
+        }
+        localCache.clear();
+        cacheManager.publishInvalidation(name, null);
+    }
+
+    // ========== INVALIDATION FROM OTHER NODES ==========
+
+    void evictLocal(String localKey) {
+        localCache.evict(localKey);
+    }
+
+    void clearLocal() {
+        localCache.clear();
+    }
+
+    // ========== HELPERS ==========
+
+    /**
+     * L1 keys use the same string form Redis keys do, so invalidation messages can name them
+     */
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private ValueWrapper remoteGet(Object key) {
+        try {
+            return remoteCache.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Remote cache read failed for {}::{}: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, Object value) {
+        try {
+            remoteCache.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Remote cache write failed for {}::{}: {}", name, key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+// TwoLevelCacheManager.java - Gerencia os caches de dois níveis e a invalidação via pub/sub
+package com.example.azure_sql_demo.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds {@link TwoLevelCache}s from a Caffeine (L1) and a Redis (L2) cache manager and
+ * keeps the L1 tiers of all nodes coherent.
+ *
+ * Every eviction or clear is published on a Redis channel; each node drops the matching L1
+ * entry when it receives a message from another node. Pub/sub is fire-and-forget, so the
+ * L1 TTLs bound how long a node that missed a message can serve a stale entry.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    record InvalidationMessage(String origin, String cacheName, String key) {
+    }
+
+    private final CacheManager localCacheManager;
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager localCacheManager,
+                                CacheManager remoteCacheManager,
+                                StringRedisTemplate redisTemplate,
+                                ObjectMapper objectMapper,
+                                String channel,
+                                Collection<String> initialCacheNames) {
+        this.localCacheManager = localCacheManager;
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        initialCacheNames.forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new TwoLevelCache(cacheName,
+                (CaffeineCache) localCacheManager.getCache(cacheName),
+                remoteCacheManager.getCache(cacheName),
+                this));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    // ========== PUB/SUB ==========
+
+    /**
+     * Tell the other nodes to drop an L1 entry (or the whole cache when key is null)
+     */
+    void publishInvalidation(String cacheName, String key) {
+        try {
+            String payload = objectMapper.writeValueAsString(new InvalidationMessage(nodeId, cacheName, key));
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize cache invalidation", e);
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation broadcast failed for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        InvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), InvalidationMessage.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed cache invalidation: {}", e.getMessage());
+            return;
+        }
+
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+
+        if (invalidation.key() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+        log.debug("Local cache invalidated by node {}: {}::{}", invalidation.origin(),
+                invalidation.cacheName(), invalidation.key());
+    }
+}
@@ -0,0 +1,115 @@
+// CacheConfig.java - Cache local (Caffeine) e em dois níveis (Caffeine + Redis)
+package com.example.azure_sql_demo.config;
+
+import com.example.azure_sql_demo.cache.TwoLevelCache;
+import com.example.azure_sql_demo.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Cache managers for the @Cacheable catalog reads, selected by app.cache.mode.
+ *
+ * Every cache listed under app.cache.specs is created eagerly with its own size/TTL policy,
+ * so actuator (/actuator/caches, cache.* metrics) sees it from startup. The caching advice is
+ * ordered outside the transactional one: evictions run after the transaction has committed,
+ * not before, so a concurrent read cannot put the pre-commit row back into the cache.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(CacheProperties.class)
+@Slf4j
+public class CacheConfig {
+
+    /**
+     * LOCAL mode: Caffeine only (also the stand-in when no Redis is available)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.mode", havingValue = "LOCAL", matchIfMissing = true)
+    public CacheManager cacheManager(CacheProperties properties) {
+        return caffeineCacheManager(properties);
+    }
+
+    static CaffeineCacheManager caffeineCacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(properties.getDefaultSpec());
+
+        properties.getSpecs().forEach((name, spec) -> {
+            // refreshAfterWrite needs a CacheLoader, which annotation-driven caches do not have
+            if (spec.contains("refreshAfterWrite")) {
+                throw new IllegalStateException("Cache '" + name +
+                        "': refreshAfterWrite is not supported, use expireAfterWrite instead");
+            }
+            cacheManager.registerCustomCache(name, Caffeine.from(spec).build());
+            log.info("Cache '{}' configured: {}", name, spec);
+        });
+
+        return cacheManager;
+    }
+
+    /**
+     * TWO_LEVEL mode: Caffeine L1 + Redis L2, L1 invalidated across nodes over pub/sub
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "app.cache.mode", havingValue = "TWO_LEVEL")
+    static class TwoLevelCacheConfig {
+
+        @Bean
+        public TwoLevelCacheManager cacheManager(CacheProperties properties,
+                                                 RedisConnectionFactory connectionFactory,
+                                                 StringRedisTemplate redisTemplate,
+                                                 ObjectMapper objectMapper) {
+            RedisCacheConfiguration remoteDefaults = RedisCacheConfiguration.defaultCacheConfig()
+                    .entryTtl(properties.getRedis().getTimeToLive())
+                    .prefixCacheNameWith(properties.getRedis().getKeyPrefix());
+
+            RedisCacheManager remoteCacheManager = RedisCacheManager.builder(connectionFactory)
+                    .cacheDefaults(remoteDefaults)
+                    .build();
+            remoteCacheManager.afterPropertiesSet();
+
+            log.info("Two-level cache enabled (L2 TTL: {}, channel: {})",
+                    properties.getRedis().getTimeToLive(), properties.getRedis().getInvalidationChannel());
+
+            return new TwoLevelCacheManager(caffeineCacheManager(properties), remoteCacheManager,
+                    redisTemplate, objectMapper, properties.getRedis().getInvalidationChannel(),
+                    properties.getSpecs().keySet());
+        }
+
+        @Bean
+        public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                                TwoLevelCacheManager cacheManager,
+                                                                                CacheProperties properties) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(cacheManager,
+                    new ChannelTopic(properties.getRedis().getInvalidationChannel()));
+            return container;
+        }
+
+        /**
+         * Publish the L1 hit/miss/eviction statistics under the usual cache.* metrics
+         */
+        @Bean
+        public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+            return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getLocalCache().getNativeCache(),
+                    cache.getName(), tags);
+        }
+    }
+}
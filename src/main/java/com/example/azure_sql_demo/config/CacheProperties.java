@@ -0,0 +1,47 @@
+// CacheProperties.java - Políticas dos caches (app.cache.*)
+package com.example.azure_sql_demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine specifications per cache name, e.g.
+ * {@code app.cache.specs.product: maximumSize=5000,expireAfterWrite=10m,recordStats}
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    public enum Mode {
+        /** Caffeine only, per node */
+        LOCAL,
+        /** Caffeine L1 per node in front of a shared Redis L2 */
+        TWO_LEVEL
+    }
+
+    private Mode mode = Mode.LOCAL;
+
+    /** Spec applied to caches that have no entry in {@link #specs} */
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m,recordStats";
+
+    /** Spec per cache name */
+    private Map<String, String> specs = new LinkedHashMap<>();
+
+    private final Redis redis = new Redis();
+
+    @Data
+    public static class Redis {
+
+        /** TTL of the L2 entries */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        private String keyPrefix = "api-finance:";
+
+        /** Pub/sub channel carrying L1 invalidations */
+        private String invalidationChannel = "api-finance:cache-invalidation";
+    }
+}
@@ -0,0 +1,156 @@
+// DataSourceRoutingConfig.java - Pool de escrita (primário) e pools de leitura (réplicas)
+package com.example.azure_sql_demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hikari pools behind a routing DataSource: "write" on the primary (spring.datasource) and
+ * one read pool per replica in app.datasource.replicas, or a single "read" pool on the
+ * primary when none is configured. Read-only transactions use the read pools, so long
+ * reports and exports cannot starve money movement of connections.
+ *
+ * Every pool inherits spring.datasource.hikari; app.datasource.read overrides it for the read
+ * pools. A pool without an explicit maximum-pool-size is sized from the CPU count
+ * ((cores * 2) + 1). Pool metrics are published per pool as hikaricp.* (tag pool).
+ *
+ * Enabled by app.datasource.routing.enabled; when that is blank, only if replicas are configured,
+ * since a "read" pool on the primary opens connections on top of the write pool's budget.
+ */
+@Configuration
+@Conditional(DataSourceRoutingConfig.RoutingEnabledCondition.class)
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+    private static final String READ_PREFIX = "app.datasource.read";
+
+    @Bean
+    public HikariDataSource writeDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder binder = Binder.get(environment);
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("write");
+        applyPoolSize(dataSource, binder, HIKARI_PREFIX);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                                        DataSourceProperties properties,
+                                                        DataSourceRoutingProperties routingProperties,
+                                                        Environment environment,
+                                                        MeterRegistry meterRegistry) {
+        long maxLagMs = routingProperties.getReplicaLag().getMaxLag().toMillis();
+        List<ReadReplica> replicas = new ArrayList<>();
+
+        if (routingProperties.getReplicas().isEmpty()) {
+            replicas.add(new ReadReplica("read", readPool("read", properties, environment, meterRegistry), maxLagMs));
+        }
+        for (DataSourceRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            if (replica.getName() == null || replica.getJdbcUrl() == null) {
+                throw new IllegalStateException("app.datasource.replicas entries need a name and a jdbc-url");
+            }
+            HikariDataSource dataSource = readPool(replica.getName(), properties, environment, meterRegistry);
+            dataSource.setJdbcUrl(replica.getJdbcUrl());
+            if (replica.getUsername() != null) {
+                dataSource.setUsername(replica.getUsername());
+            }
+            if (replica.getPassword() != null) {
+                dataSource.setPassword(replica.getPassword());
+            }
+            replicas.add(new ReadReplica(replica.getName(), dataSource, maxLagMs));
+        }
+
+        log.info("Read/write DataSource routing enabled, read pools: {} (max replica lag: {}ms)",
+                replicas.stream().map(ReadReplica::getName).toList(), maxLagMs);
+        return new ReadWriteRoutingDataSource(writeDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource routingDataSource,
+                                               DataSourceRoutingProperties routingProperties,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(routingDataSource.getReplicas(),
+                routingProperties.getReplicaLag().getQuery(), meterRegistry);
+    }
+
+    // ========== HELPERS ==========
+
+    private HikariDataSource readPool(String name, DataSourceProperties properties, Environment environment,
+                                      MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder binder = Binder.get(environment);
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        binder.bind(READ_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setReadOnly(true);
+        // Not a bean of its own, so the hikaricp.* metrics are bound here
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        if (!binder.bind(READ_PREFIX + ".maximum-pool-size", Integer.class).isBound()) {
+            applyPoolSize(dataSource, binder, HIKARI_PREFIX);
+        }
+        return dataSource;
+    }
+
+    private void applyPoolSize(HikariDataSource dataSource, Binder binder, String prefix) {
+        if (binder.bind(prefix + ".maximum-pool-size", Integer.class).isBound()) {
+            return;
+        }
+        int size = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        dataSource.setMaximumPoolSize(size);
+        log.info("Pool '{}' sized from CPU count: {}", dataSource.getPoolName(), size);
+    }
+
+    /**
+     * app.datasource.routing.enabled when set, otherwise whether app.datasource.replicas has entries
+     */
+    static class RoutingEnabledCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            String enabled = context.getEnvironment().getProperty("app.datasource.routing.enabled");
+            if (StringUtils.hasText(enabled)) {
+                return Boolean.parseBoolean(enabled.trim())
+                        ? ConditionOutcome.match("app.datasource.routing.enabled is true")
+                        : ConditionOutcome.noMatch("app.datasource.routing.enabled is false");
+            }
+            boolean hasReplicas = Binder.get(context.getEnvironment())
+                    .bind("app.datasource.replicas", Bindable.listOf(DataSourceRoutingProperties.Replica.class))
+                    .map(replicas -> !replicas.isEmpty())
+                    .orElse(false);
+            return hasReplicas
+                    ? ConditionOutcome.match("read replicas are configured")
+                    : ConditionOutcome.noMatch("no read replicas and app.datasource.routing.enabled not set");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+// DataSourceRoutingProperties.java - Réplicas de leitura e tolerância de atraso (app.datasource.*)
+package com.example.azure_sql_demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas used by {@link ReadWriteRoutingDataSource}. Without replicas a single "read"
+ * pool on the primary is used. Pool settings come from spring.datasource.hikari, overridden
+ * for every read pool by app.datasource.read.*.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourceRoutingProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private final ReplicaLag replicaLag = new ReplicaLag();
+
+    @Data
+    public static class Replica {
+
+        private String name;
+
+        private String jdbcUrl;
+
+        /** Defaults to spring.datasource.username */
+        private String username;
+
+        /** Defaults to spring.datasource.password */
+        private String password;
+    }
+
+    @Data
+    public static class ReplicaLag {
+
+        /** Replicas lagging more than this are skipped; reads fall back to the primary */
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        /** How often the lag is measured */
+        private long checkIntervalMs = 5000;
+
+        /** Query returning the lag in milliseconds; blank = built-in query for PostgreSQL, none otherwise */
+        private String query;
+    }
+}
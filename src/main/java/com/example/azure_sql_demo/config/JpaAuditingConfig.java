@@ -0,0 +1,10 @@
+// JpaAuditingConfig.java - Habilita @CreatedDate / @LastModifiedDate
+package com.example.azure_sql_demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+@Configuration
+@EnableJpaAuditing
+public class JpaAuditingConfig {
+}
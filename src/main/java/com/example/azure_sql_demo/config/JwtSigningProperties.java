@@ -0,0 +1,50 @@
+// JwtSigningProperties.java - Algoritmo e chaves de assinatura dos JWT (app.jwt.signing.*)
+package com.example.azure_sql_demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Signing algorithm and key ring for JWTs.
+ *
+ * HS256 keeps using app.jwt.secret. RS256/ES256 sign with the key named by activeKid and
+ * verify with any key of the ring, so a key can be rotated out while its tokens expire.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.jwt.signing")
+public class JwtSigningProperties {
+
+    public enum Algorithm {
+        HS256,
+        RS256,
+        ES256
+    }
+
+    private Algorithm algorithm = Algorithm.HS256;
+
+    /** kid of the key used to sign new tokens (defaults to the first key) */
+    private String activeKid;
+
+    /**
+     * Also accept HS256 tokens signed with app.jwt.secret. Only for the migration window to
+     * RS256/ES256: enable explicitly, and turn off once the last HS256 token has expired
+     */
+    private boolean acceptLegacyHmac = false;
+
+    private List<Key> keys = new ArrayList<>();
+
+    @Data
+    public static class Key {
+
+        private String kid;
+
+        /** PKCS#8 PEM (inline or resource location); only needed for the active key */
+        private String privateKey;
+
+        /** X.509 PEM (inline or resource location) */
+        private String publicKey;
+    }
+}
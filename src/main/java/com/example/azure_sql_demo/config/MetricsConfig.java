@@ -0,0 +1,23 @@
+// MetricsConfig.java - Métricas Micrometer dos serviços
+package com.example.azure_sql_demo.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables @Timed on Spring beans. Service classes are annotated at class level, producing a
+ * single app.service timer tagged by class, method and exception.
+ *
+ * Hikari pool gauges (hikaricp.*), cache statistics (cache.*) and JVM metrics are bound by
+ * Spring Boot's auto-configuration; everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
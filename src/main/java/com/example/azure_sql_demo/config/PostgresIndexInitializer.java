@@ -0,0 +1,99 @@
+// PostgresIndexInitializer.java - Cria os índices específicos do PostgreSQL
+package com.example.azure_sql_demo.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the db/vendor/postgresql index scripts (pg_trgm GIN indexes backing the substring
+ * searches, then the transaction and audit log access-path indexes) once Hibernate has created the
+ * schema. Every statement is idempotent; other databases are skipped, and a failing script only
+ * costs query speed.
+ *
+ * A CREATE INDEX CONCURRENTLY that fails halfway leaves an INVALID index behind, which IF NOT EXISTS
+ * would then skip forever. Before each script runs, invalid indexes it declares are dropped so the
+ * script builds them again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresIndexInitializer implements CommandLineRunner {
+
+    private static final Pattern INDEX_NAME = Pattern.compile(
+            "CREATE\\s+INDEX\\s+CONCURRENTLY\\s+IF\\s+NOT\\s+EXISTS\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final String INVALID_INDEXES = "SELECT c.relname FROM pg_index i " +
+            "JOIN pg_class c ON c.oid = i.indexrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE NOT i.indisvalid AND n.nspname = current_schema() AND c.relname IN (:names)";
+
+    private static final List<String> SCRIPTS = List.of(
+            "db/vendor/postgresql/search_indexes.sql",
+            "db/vendor/postgresql/transaction_indexes.sql",
+            "db/vendor/postgresql/audit_indexes.sql");
+
+    private final DataSource dataSource;
+
+    @Override
+    public void run(String... args) {
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (Exception e) {
+            log.warn("Could not detect the database, Postgres indexes skipped: {}", e.getMessage());
+            return;
+        }
+        if (!"PostgreSQL".equals(product)) {
+            log.debug("Skipping Postgres indexes for database: {}", product);
+            return;
+        }
+
+        for (String script : SCRIPTS) {
+            try {
+                dropInvalidIndexes(script);
+                new ResourceDatabasePopulator(new ClassPathResource(script)).execute(dataSource);
+                log.info("✅ Indexes ensured: {}", script);
+            } catch (Exception e) {
+                log.warn("Indexes from {} not created, affected queries will scan: {}", script, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drop the indexes declared by the script that a failed concurrent build left INVALID
+     */
+    private void dropInvalidIndexes(String script) throws IOException {
+        String sql = new ClassPathResource(script).getContentAsString(StandardCharsets.UTF_8);
+        List<String> names = new ArrayList<>();
+        Matcher matcher = INDEX_NAME.matcher(sql);
+        while (matcher.find()) {
+            names.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        for (String invalid : jdbcTemplate.queryForList(INVALID_INDEXES, Map.of("names", names), String.class)) {
+            log.warn("Index {} is INVALID after an interrupted build, rebuilding it", invalid);
+            jdbcTemplate.getJdbcTemplate().execute("DROP INDEX CONCURRENTLY IF EXISTS " + invalid);
+        }
+    }
+}
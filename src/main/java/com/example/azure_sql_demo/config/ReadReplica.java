@@ -0,0 +1,49 @@
+// ReadReplica.java - Pool de uma réplica de leitura e seu atraso medido
+package com.example.azure_sql_demo.config;
+
+import javax.sql.DataSource;
+
+/**
+ * A read pool plus the replication lag last measured by {@link ReplicaLagMonitor}.
+ */
+public class ReadReplica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final long maxLagMs;
+
+    private volatile long lagMs;
+    private volatile boolean reachable = true;
+
+    public ReadReplica(String name, DataSource dataSource, long maxLagMs) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.maxLagMs = maxLagMs;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    /** Reachable and within the lag tolerance */
+    public boolean isAvailable() {
+        return reachable && lagMs <= maxLagMs;
+    }
+
+    void recordLag(long lagMs) {
+        this.lagMs = lagMs;
+        this.reachable = true;
+    }
+
+    void markUnreachable() {
+        this.reachable = false;
+    }
+}
@@ -0,0 +1,101 @@
+// ReadWriteRoutingDataSource.java - Roteia transações read-only para as réplicas
+package com.example.azure_sql_demo.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends @Transactional(readOnly = true) work to a read replica and everything else
+ * (including code running outside a transaction) to the primary.
+ *
+ * Replicas are picked round-robin among those whose last measured lag is within tolerance;
+ * when none qualifies the read goes to the primary. Once a request has written, its later
+ * reads also stay on the primary (read-your-writes).
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only bound to the
+ * thread after the transaction manager has begun the transaction, so the physical
+ * connection has to be fetched lazily, on the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String WROTE_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".WROTE";
+
+    private final List<ReadReplica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReadReplica> replicas) {
+        this.replicas = List.copyOf(replicas);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public List<ReadReplica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Close the replica pools (the primary pool is a bean of its own)
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (ReadReplica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                markRequestWrote();
+            }
+            return PRIMARY;
+        }
+
+        if (requestWrote()) {
+            return PRIMARY;
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size == 0 ? 1 : size);
+        for (int i = 0; i < size; i++) {
+            ReadReplica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                return replica.getName();
+            }
+        }
+        return PRIMARY;
+    }
+
+    // ========== READ-YOUR-WRITES ==========
+
+    private void markRequestWrote() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private boolean requestWrote() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && attributes.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
@@ -0,0 +1,77 @@
+// ReplicaLagMonitor.java - Mede periodicamente o atraso de replicação
+package com.example.azure_sql_demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Polls each replica's replication lag and publishes db.replica.lag / db.replica.available.
+ * A replica that cannot be queried is taken out of rotation until the next successful check.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /** 0 on a primary or a caught-up standby, otherwise the age of the last replayed transaction */
+    private static final String POSTGRES_LAG_QUERY =
+            "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)";
+
+    private final List<ReadReplica> replicas;
+    private final String configuredQuery;
+
+    public ReplicaLagMonitor(List<ReadReplica> replicas, String configuredQuery, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.configuredQuery = configuredQuery;
+
+        for (ReadReplica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, ReadReplica::getLagMs)
+                    .description("Replication lag last measured on the replica")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .description("1 when the replica is reachable and within the lag tolerance")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-lag.check-interval-ms:5000}")
+    public void check() {
+        for (ReadReplica replica : replicas) {
+            String query = lagQuery(replica);
+            if (query == null) {
+                replica.recordLag(0);
+                continue;
+            }
+
+            try {
+                Number lag = new JdbcTemplate(replica.getDataSource()).queryForObject(query, Number.class);
+                replica.recordLag(lag != null ? lag.longValue() : 0);
+            } catch (Exception e) {
+                if (replica.isAvailable()) {
+                    log.warn("Replica '{}' lag check failed, taking it out of rotation: {}",
+                            replica.getName(), e.getMessage());
+                }
+                replica.markUnreachable();
+            }
+        }
+    }
+
+    private String lagQuery(ReadReplica replica) {
+        if (configuredQuery != null && !configuredQuery.isBlank()) {
+            return configuredQuery;
+        }
+        if (replica.getDataSource() instanceof HikariDataSource hikari
+                && hikari.getJdbcUrl() != null && hikari.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+            return POSTGRES_LAG_QUERY;
+        }
+        return null;
+    }
+}
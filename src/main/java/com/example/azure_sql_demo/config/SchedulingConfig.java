@@ -0,0 +1,10 @@
+// SchedulingConfig.java - Habilita tarefas agendadas
+package com.example.azure_sql_demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
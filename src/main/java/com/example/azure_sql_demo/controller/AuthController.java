@@ -37,4 +37,11 @@ public class AuthController {
     public ResponseEntity<AuthResponse> refresh(@RequestHeader("Authorization") String token) {
         return ResponseEntity.ok(authService.refreshToken(token));
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the current JWT token")
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String token) {
+        authService.logout(token);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -2,6 +2,7 @@ package com.example.azure_sql_demo.controller;
 
 import com.example.azure_sql_demo.model.Product;
 import com.example.azure_sql_demo.repository.ProductRepository;
+import com.example.azure_sql_demo.service.ProductStatsTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +17,9 @@ public class DataLoaderController {
 
     @Autowired
     private ProductRepository productRepository;
+
+    @Autowired
+    private ProductStatsTracker productStatsTracker;
     
     private final Random random = new Random();
     
@@ -24,6 +28,7 @@ public class DataLoaderController {
     public ResponseEntity<?> loadSampleData(@RequestParam(defaultValue = "20") int count) {
         List<Product> products = generateSampleProducts(count);
         productRepository.saveAll(products);
+        productStatsTracker.reconcile();
         
         return ResponseEntity.ok().body(
             Map.of("message", "Successfully loaded " + products.size() + " sample products")
@@ -35,6 +40,7 @@ public class DataLoaderController {
     public ResponseEntity<?> clearAllData() {
         long count = productRepository.count();
         productRepository.deleteAll();
+        productStatsTracker.reconcile();
         
         return ResponseEntity.ok().body(
             Map.of("message", "Successfully deleted " + count + " products")
@@ -46,6 +52,7 @@ public class DataLoaderController {
     public ResponseEntity<?> loadPredefinedData() {
         List<Product> products = createPredefinedProducts();
         productRepository.saveAll(products);
+        productStatsTracker.reconcile();
         
         return ResponseEntity.ok().body(
             Map.of("message", "Successfully loaded " + products.size() + " predefined products")
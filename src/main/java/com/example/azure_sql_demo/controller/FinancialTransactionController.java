@@ -2,18 +2,24 @@
 // FinancialTransactionController.java - CORRIGIDO
 package com.example.azure_sql_demo.controller;
 
+import com.example.azure_sql_demo.dto.BatchTransactionResponse;
 import com.example.azure_sql_demo.dto.CreateTransactionRequest;
+import com.example.azure_sql_demo.dto.CursorPage;
 import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
 import com.example.azure_sql_demo.dto.TransferRequest;
 import com.example.azure_sql_demo.model.FinancialTransaction;
+import com.example.azure_sql_demo.service.BatchTransactionService;
 import com.example.azure_sql_demo.service.FinancialTransactionService;
+import com.example.azure_sql_demo.service.TransactionExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,13 +28,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -42,6 +52,8 @@ import java.util.List;
 public class FinancialTransactionController {
 
     private final FinancialTransactionService transactionService;
+    private final BatchTransactionService batchTransactionService;
+    private final TransactionExportService exportService;
 
     @PostMapping
     @Operation(summary = "Create transaction", description = "Creates a new financial transaction")
@@ -92,6 +104,21 @@ public class FinancialTransactionController {
         return ResponseEntity.ok(transaction);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create transactions in batch",
+               description = "Processes a JSON array or NDJSON stream of transactions in chunks and returns per-item results")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed (check per-item status)"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - insufficient privileges")
+    })
+    public ResponseEntity<BatchTransactionResponse> createTransactionsBatch(HttpServletRequest request) throws IOException {
+        log.info("Processing transaction batch ({})", request.getContentType());
+        BatchTransactionResponse response = batchTransactionService.processBatch(request.getInputStream());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get transaction by ID", description = "Retrieves a specific transaction by its ID")
     @ApiResponses(value = {
@@ -185,6 +212,118 @@ public class FinancialTransactionController {
         }
     }
 
+    // ===== CURSOR PAGINATION =====
+
+    @GetMapping("/account/{accountNumber}/cursor")
+    @PreAuthorize("@accountService.isAccountOwner(#accountNumber, authentication.principal.id) or hasRole('ADMIN')")
+    @Operation(summary = "Get account transactions (cursor)", description = "Keyset-paginated account transactions, newest first")
+    public ResponseEntity<CursorPage<FinancialTransactionDTO>> getAccountTransactionsByCursor(
+            @Parameter(description = "Account number")
+            @PathVariable String accountNumber,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(500) int size) {
+        
+        return ResponseEntity.ok(transactionService.getTransactionsByAccount(accountNumber, cursor, size));
+    }
+
+    @GetMapping("/user/{userId}/cursor")
+    @PreAuthorize("#userId == authentication.principal.id or hasRole('ADMIN')")
+    @Operation(summary = "Get user transactions (cursor)", description = "Keyset-paginated user transactions, newest first")
+    public ResponseEntity<CursorPage<FinancialTransactionDTO>> getUserTransactionsByCursor(
+            @Parameter(description = "User ID")
+            @PathVariable Long userId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(500) int size) {
+        
+        return ResponseEntity.ok(transactionService.getUserTransactions(userId, cursor, size));
+    }
+
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search transactions (cursor)", description = "Keyset-paginated search with multiple criteria")
+    public ResponseEntity<CursorPage<FinancialTransactionDTO>> searchTransactionsByCursor(
+            @Parameter(description = "User ID (optional)")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Start date (yyyy-MM-ddTHH:mm:ss)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date (yyyy-MM-ddTHH:mm:ss)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Transaction status")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(500) int size) {
+        
+        return ResponseEntity.ok(
+                transactionService.searchTransactions(userId, startDate, endDate, status, cursor, size));
+    }
+
+    // ===== STREAMING EXPORT =====
+
+    @GetMapping("/account/{accountNumber}/export")
+    @PreAuthorize("@accountService.isAccountOwner(#accountNumber, authentication.principal.id) or hasRole('ADMIN')")
+    @Operation(summary = "Export account transactions", description = "Streams the full transaction history of an account as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportAccountTransactions(
+            @Parameter(description = "Account number")
+            @PathVariable String accountNumber,
+            @Parameter(description = "Export format (ndjson or csv)")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.from(format);
+        return exportResponse("transactions-" + accountNumber, exportFormat,
+                exportService.exportByAccount(accountNumber, exportFormat));
+    }
+
+    @GetMapping("/user/{userId}/export")
+    @PreAuthorize("#userId == authentication.principal.id or hasRole('ADMIN')")
+    @Operation(summary = "Export user transactions", description = "Streams the full transaction history of a user as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportUserTransactions(
+            @Parameter(description = "User ID")
+            @PathVariable Long userId,
+            @Parameter(description = "Export format (ndjson or csv)")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.from(format);
+        return exportResponse("transactions-user-" + userId, exportFormat,
+                exportService.exportByUser(userId, exportFormat));
+    }
+
+    @GetMapping("/status/{status}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Export transactions by status", description = "Streams all transactions with a status as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByStatus(
+            @Parameter(description = "Transaction status")
+            @PathVariable String status,
+            @Parameter(description = "Export format (ndjson or csv)")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        FinancialTransaction.TransactionStatus transactionStatus;
+        try {
+            transactionStatus = FinancialTransaction.TransactionStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid transaction status: {}", status);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.from(format);
+        return exportResponse("transactions-" + transactionStatus.name().toLowerCase(), exportFormat,
+                exportService.exportByStatus(transactionStatus, exportFormat));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String fileName,
+                                                                 TransactionExportService.ExportFormat format,
+                                                                 StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search transactions", description = "Search transactions with multiple criteria")
     public ResponseEntity<Page<FinancialTransactionDTO>> searchTransactions(
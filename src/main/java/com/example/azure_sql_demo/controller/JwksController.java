@@ -0,0 +1,30 @@
+// JwksController.java - Chaves públicas de verificação dos JWT
+package com.example.azure_sql_demo.controller;
+
+import com.example.azure_sql_demo.security.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication API", description = "Authentication and authorization operations")
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "JWK set", description = "Public keys for verifying JWTs issued by this API")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(keyRing.getJwks());
+    }
+}
@@ -159,7 +159,8 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search products by name", description = "Searches products by name (case-insensitive)")
+    @Operation(summary = "Search products by name",
+               description = "Searches products by name (case-insensitive); exact and prefix matches are ranked first")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid search parameters"),
@@ -174,6 +175,27 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/search/paged")
+    @Operation(summary = "Search products by name (paginated)",
+               description = "Same search as /search, one page at a time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid search parameters"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<Page<ProductDTO>> searchProductsByNamePaged(
+            @Parameter(description = "Product name to search for")
+            @RequestParam String name,
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") @Min(1) int size) {
+        
+        log.info("Searching products by name: {} (page {})", name, page);
+        Page<ProductDTO> products = productService.searchProductsByName(name, PageRequest.of(page, size));
+        return ResponseEntity.ok(products);
+    }
+
     @GetMapping("/price-range")
     @Operation(summary = "Get products by price range", description = "Retrieves products within a specific price range")
     @ApiResponses(value = {
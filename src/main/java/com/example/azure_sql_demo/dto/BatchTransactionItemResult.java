@@ -0,0 +1,22 @@
+// BatchTransactionItemResult.java - Resultado por item do processamento em lote
+package com.example.azure_sql_demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchTransactionItemResult {
+
+    private Integer index;
+    private String status;
+    private Long transactionId;
+    private String referenceNumber;
+    private String errorMessage;
+}
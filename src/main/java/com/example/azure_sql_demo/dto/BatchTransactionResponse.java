@@ -0,0 +1,22 @@
+// BatchTransactionResponse.java - Resposta do processamento em lote
+package com.example.azure_sql_demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionResponse {
+
+    private Integer totalItems;
+    private Integer succeeded;
+    private Integer failed;
+    private Long durationMs;
+    private List<BatchTransactionItemResult> results;
+}
@@ -0,0 +1,21 @@
+// CursorPage.java - Página baseada em cursor (keyset)
+package com.example.azure_sql_demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private Integer size;
+    private Boolean hasNext;
+    private String nextCursor;
+}
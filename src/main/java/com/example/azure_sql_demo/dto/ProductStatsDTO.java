@@ -6,13 +6,16 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ProductStatsDTO {
+public class ProductStatsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     private Long totalProducts;
     private Long activeProducts;
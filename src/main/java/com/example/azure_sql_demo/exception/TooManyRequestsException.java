@@ -0,0 +1,18 @@
+package com.example.azure_sql_demo.exception;
+
+/**
+ * Exception para requisições rejeitadas por sobrecarga (HTTP 429)
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -4,6 +4,7 @@ package com.example.azure_sql_demo.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,6 +17,8 @@ import java.util.List;
 @Entity
 @Table(name = "accounts", uniqueConstraints = {
     @UniqueConstraint(columnNames = "account_number")
+}, indexes = {
+    @Index(name = "idx_accounts_user_id", columnList = "user_id")
 })
 @Data
 @Builder
@@ -79,6 +82,12 @@ public class Account {
     @Builder.Default
     private List<FinancialTransaction> toTransactions = new ArrayList<>();
     
+    // Optimistic locking (default 0 so ddl-auto can add the column to existing rows)
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private long version;
+    
     // Audit fields
     @CreatedDate
     @Column(name = "created_at", updatable = false)
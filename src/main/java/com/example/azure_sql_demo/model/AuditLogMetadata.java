@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.Length;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -30,10 +31,10 @@ public abstract class AuditLogMetadata {
     @Column(nullable = false, length = 50)
     private String action;
 
-    @Column(name = "old_values", columnDefinition = "NVARCHAR(MAX)")
+    @Column(name = "old_values", length = Length.LONG32)
     private String oldValues;
 
-    @Column(name = "new_values", columnDefinition = "NVARCHAR(MAX)")
+    @Column(name = "new_values", length = Length.LONG32)
     private String newValues;
 
     @Column(name = "user_id")
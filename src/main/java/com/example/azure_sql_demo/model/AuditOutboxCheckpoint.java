@@ -0,0 +1,31 @@
+// AuditOutboxCheckpoint.java
+package com.example.azure_sql_demo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of an outbox relay. Updated in the same transaction that copies and deletes
+ * the relayed rows, and row-locked so only one instance relays at a time. There is no
+ * position to resume from: relayed rows are deleted, so the relay always reads the head.
+ */
+@Entity
+@Table(name = "audit_outbox_checkpoint")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditOutboxCheckpoint {
+
+    @Id
+    @Column(name = "relay_name", length = 50)
+    private String relayName;
+
+    @Column(name = "relayed_count", nullable = false)
+    private Long relayedCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
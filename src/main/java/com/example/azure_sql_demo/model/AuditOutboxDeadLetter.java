@@ -0,0 +1,44 @@
+// AuditOutboxDeadLetter.java
+package com.example.azure_sql_demo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row the relay could not read, moved aside so it no longer blocks the head of
+ * audit_outbox. Keeps the original payload for manual inspection and replay.
+ */
+@Entity
+@Table(name = "audit_outbox_dead_letter")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditOutboxDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "log_type", nullable = false, length = 20)
+    private AuditOutboxEvent.LogType logType;
+
+    @Column(nullable = false, length = Length.LONG32)
+    private String payload;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,40 @@
+// AuditOutboxEvent.java
+package com.example.azure_sql_demo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only outbox row holding one serialized audit entry until the relay copies it
+ * into financial_audit_log / product_audit_log.
+ */
+@Entity
+@Table(name = "audit_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "log_type", nullable = false, length = 20)
+    private LogType logType;
+
+    @Column(nullable = false, length = Length.LONG32)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum LogType {
+        FINANCIAL,
+        PRODUCT
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.Length;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -13,10 +14,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "financial_audit_log", indexes = {
-    @Index(name = "idx_financial_audit_account_id", columnList = "account_id"),
+    @Index(name = "idx_financial_audit_account_created", columnList = "account_id, created_at"),
     @Index(name = "idx_financial_audit_transaction_id", columnList = "transaction_id"),
     @Index(name = "idx_financial_audit_action", columnList = "action"),
-    @Index(name = "idx_financial_audit_user_id", columnList = "user_id"),
+    @Index(name = "idx_financial_audit_user_created", columnList = "user_id, created_at"),
     @Index(name = "idx_financial_audit_created_at", columnList = "created_at"),
     @Index(name = "idx_financial_audit_account_number", columnList = "account_number"),
     @Index(name = "idx_financial_audit_amount", columnList = "amount")
@@ -49,10 +50,10 @@ public class FinancialAuditLog {
     @Size(max = 50, message = "Action cannot exceed 50 characters")
     private String action;
 
-    @Column(name = "old_values", columnDefinition = "NVARCHAR(MAX)")
+    @Column(name = "old_values", length = Length.LONG32)
     private String oldValues;
 
-    @Column(name = "new_values", columnDefinition = "NVARCHAR(MAX)")
+    @Column(name = "new_values", length = Length.LONG32)
     private String newValues;
 
     @Column(precision = 15, scale = 2)
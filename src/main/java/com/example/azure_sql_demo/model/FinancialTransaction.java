@@ -12,7 +12,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "financial_transactions")
+@Table(name = "financial_transactions", indexes = {
+    @Index(name = "idx_transactions_from_account_created_id", columnList = "from_account_id, created_at, id"),
+    @Index(name = "idx_transactions_to_account_created_id", columnList = "to_account_id, created_at, id"),
+    @Index(name = "idx_transactions_status_created_id", columnList = "status, created_at, id"),
+    @Index(name = "idx_transactions_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_transactions_reference", columnList = "reference_number")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.Length;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -13,9 +14,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "product_audit_log", indexes = {
-    @Index(name = "idx_product_audit_product_id", columnList = "product_id"),
+    @Index(name = "idx_product_audit_product_created", columnList = "product_id, created_at"),
     @Index(name = "idx_product_audit_action", columnList = "action"),
-    @Index(name = "idx_product_audit_user_id", columnList = "user_id"),
+    @Index(name = "idx_product_audit_user_created", columnList = "user_id, created_at"),
     @Index(name = "idx_product_audit_created_at", columnList = "created_at")
 })
 @Data
@@ -40,10 +41,10 @@ public class ProductAuditLog {
     @Size(max = 50, message = "Action cannot exceed 50 characters")
     private String action;
 
-    @Column(name = "old_values", columnDefinition = "NVARCHAR(MAX)")
+    @Column(name = "old_values", length = Length.LONG32)
     private String oldValues;
 
-    @Column(name = "new_values", columnDefinition = "NVARCHAR(MAX)")
+    @Column(name = "new_values", length = Length.LONG32)
     private String newValues;
 
     @Column(name = "user_id")
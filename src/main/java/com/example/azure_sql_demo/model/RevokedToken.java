@@ -0,0 +1,35 @@
+// RevokedToken.java
+package com.example.azure_sql_demo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * JTI of a token revoked before its expiration (e.g. on logout).
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "IX_revoked_tokens_revoked_at", columnList = "revoked_at"),
+    @Index(name = "IX_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -2,12 +2,15 @@
 package com.example.azure_sql_demo.repository;
 
 import com.example.azure_sql_demo.model.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +22,26 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    /**
+     * Resolve account id by account number (no entity load, no lock)
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Load account with a row lock (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Load and row-lock a set of accounts, ordered by id to keep lock acquisition deterministic
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNumber IN :accountNumbers ORDER BY a.id")
+    List<Account> findByAccountNumbersForUpdate(@Param("accountNumbers") Collection<String> accountNumbers);
+
     /**
      * Find accounts by user ID
      */
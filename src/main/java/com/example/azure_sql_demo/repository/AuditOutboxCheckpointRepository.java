@@ -0,0 +1,23 @@
+// AuditOutboxCheckpointRepository.java
+package com.example.azure_sql_demo.repository;
+
+import com.example.azure_sql_demo.model.AuditOutboxCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AuditOutboxCheckpointRepository extends JpaRepository<AuditOutboxCheckpoint, String> {
+
+    /**
+     * Load the checkpoint with a row lock (serializes relays across instances)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM AuditOutboxCheckpoint c WHERE c.relayName = :relayName")
+    Optional<AuditOutboxCheckpoint> findByRelayNameForUpdate(@Param("relayName") String relayName);
+}
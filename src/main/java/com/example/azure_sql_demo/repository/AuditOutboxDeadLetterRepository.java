@@ -0,0 +1,10 @@
+// AuditOutboxDeadLetterRepository.java
+package com.example.azure_sql_demo.repository;
+
+import com.example.azure_sql_demo.model.AuditOutboxDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditOutboxDeadLetterRepository extends JpaRepository<AuditOutboxDeadLetter, Long> {
+}
@@ -0,0 +1,18 @@
+// AuditOutboxEventRepository.java
+package com.example.azure_sql_demo.repository;
+
+import com.example.azure_sql_demo.model.AuditOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditOutboxEventRepository extends JpaRepository<AuditOutboxEvent, Long> {
+
+    /**
+     * Oldest pending events first
+     */
+    List<AuditOutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+}
@@ -4,7 +4,9 @@ package com.example.azure_sql_demo.repository;
 import com.example.azure_sql_demo.model.FinancialAuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +16,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface FinancialAuditLogRepository extends JpaRepository<FinancialAuditLog, Long> {
+public interface FinancialAuditLogRepository extends JpaRepository<FinancialAuditLog, Long>,
+        JpaSpecificationExecutor<FinancialAuditLog> {
 
     /**
      * Find audit logs by account ID
@@ -89,28 +92,28 @@ public interface FinancialAuditLogRepository extends JpaRepository<FinancialAudi
     List<FinancialAuditLog> findHighValueTransactions(@Param("threshold") BigDecimal threshold);
 
     /**
-     * Find audit logs with custom criteria
-     */
-    @Query("SELECT f FROM FinancialAuditLog f WHERE " +
-           "(:accountId IS NULL OR f.accountId = :accountId) AND " +
-           "(:transactionId IS NULL OR f.transactionId = :transactionId) AND " +
-           "(:action IS NULL OR f.action = :action) AND " +
-           "(:userId IS NULL OR f.userId = :userId) AND " +
-           "(:startDate IS NULL OR f.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR f.createdAt <= :endDate) AND " +
-           "(:minAmount IS NULL OR f.amount >= :minAmount) AND " +
-           "(:maxAmount IS NULL OR f.amount <= :maxAmount) " +
-           "ORDER BY f.createdAt DESC")
-    Page<FinancialAuditLog> findAuditLogsByCriteria(
-            @Param("accountId") Long accountId,
-            @Param("transactionId") Long transactionId,
-            @Param("action") String action,
-            @Param("userId") Long userId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            @Param("minAmount") BigDecimal minAmount,
-            @Param("maxAmount") BigDecimal maxAmount,
-            Pageable pageable);
+     * Find audit logs with custom criteria; only the supplied filters become predicates
+     */
+    default Page<FinancialAuditLog> findAuditLogsByCriteria(
+            Long accountId,
+            Long transactionId,
+            String action,
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            Pageable pageable) {
+        return findAll(Specification.where(QuerySpecifications.<FinancialAuditLog>equal("accountId", accountId))
+                        .and(QuerySpecifications.equal("transactionId", transactionId))
+                        .and(QuerySpecifications.equal("action", action))
+                        .and(QuerySpecifications.equal("userId", userId))
+                        .and(QuerySpecifications.atLeast("createdAt", startDate))
+                        .and(QuerySpecifications.atMost("createdAt", endDate))
+                        .and(QuerySpecifications.atLeast("amount", minAmount))
+                        .and(QuerySpecifications.atMost("amount", maxAmount)),
+                QuerySpecifications.newestFirst(pageable));
+    }
 
     /**
      * Get audit statistics by action
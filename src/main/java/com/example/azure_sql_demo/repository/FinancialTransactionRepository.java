@@ -1,22 +1,33 @@
 // FinancialTransactionRepository.java - COMPLETO
 package com.example.azure_sql_demo.repository;
 
+import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
 import com.example.azure_sql_demo.model.Account;
 import com.example.azure_sql_demo.model.FinancialTransaction;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface FinancialTransactionRepository extends JpaRepository<FinancialTransaction, Long> {
+public interface FinancialTransactionRepository extends JpaRepository<FinancialTransaction, Long>,
+        JpaSpecificationExecutor<FinancialTransaction>, FinancialTransactionSearchRepository {
 
     // ========== BASIC QUERIES ==========
 
@@ -26,6 +37,195 @@ public interface FinancialTransactionRepository extends JpaRepository<FinancialT
     Page<FinancialTransaction> findByFromAccountOrToAccountOrderByCreatedAtDesc(
             Account fromAccount, Account toAccount, Pageable pageable);
 
+    // ===== STREAMING (export) =====
+    // Must be consumed inside a transaction and closed; rows are fetched from the
+    // driver in blocks of HINT_FETCH_SIZE instead of being materialized as a list
+
+    /**
+     * Stream transactions of an account (as sender or receiver), newest first
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM FinancialTransaction t LEFT JOIN FETCH t.fromAccount LEFT JOIN FETCH t.toAccount " +
+           "WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<FinancialTransaction> streamByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Stream transactions of all accounts of a user, newest first
+     */
+    default Stream<FinancialTransaction> streamByUserId(Long userId) {
+        return streamByAccountIds(findAccountIdsByUserId(userId));
+    }
+
+    /**
+     * Stream transactions of a set of accounts (as sender or receiver), newest first
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM FinancialTransaction t LEFT JOIN FETCH t.fromAccount fa LEFT JOIN FETCH t.toAccount ta " +
+           "WHERE " + INVOLVES_ACCOUNTS +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<FinancialTransaction> streamByAccountIds(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Stream transactions by status, newest first
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM FinancialTransaction t LEFT JOIN FETCH t.fromAccount LEFT JOIN FETCH t.toAccount " +
+           "WHERE t.status = :status ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<FinancialTransaction> streamByStatus(@Param("status") FinancialTransaction.TransactionStatus status);
+
+    // ===== READ MODEL (DTO projections) =====
+    // Listing paths select FinancialTransactionDTO directly: the account numbers come from
+    // LEFT JOINs in the same statement instead of lazy loads per row in the mapper
+
+    String TRANSACTION_DTO_SELECT = "SELECT new com.example.azure_sql_demo.dto.FinancialTransactionDTO(" +
+            "t.id, t.transactionType, t.amount, t.description, t.referenceNumber, t.status, t.errorMessage, " +
+            "t.processedAt, fa.accountNumber, ta.accountNumber, t.createdAt) " +
+            "FROM FinancialTransaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta ";
+
+    String TRANSACTION_COUNT_SELECT = "SELECT COUNT(t) " +
+            "FROM FinancialTransaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta ";
+
+    /**
+     * Any of the given accounts as sender or receiver. User-scoped queries resolve the user's
+     * account ids first (findAccountIdsByUserId): with the ids as parameters each side is an index
+     * condition on (from|to_account_id, created_at, id), combined by a BitmapOr. Account-id
+     * subqueries in the same statement planned as hashed SubPlan filters over every row instead
+     */
+    String INVOLVES_ACCOUNTS = "(t.fromAccount.id IN :accountIds OR t.toAccount.id IN :accountIds) ";
+
+    /**
+     * Ids of the user's accounts
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.user.id = :userId")
+    List<Long> findAccountIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Transaction by ID as DTO
+     */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.id = :id")
+    Optional<FinancialTransactionDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Transaction by reference number as DTO
+     */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.referenceNumber = :referenceNumber")
+    Optional<FinancialTransactionDTO> findDtoByReferenceNumber(@Param("referenceNumber") String referenceNumber);
+
+    /**
+     * Account transactions (as sender or receiver); ordering comes from the Pageable
+     */
+    @Query(value = TRANSACTION_DTO_SELECT + "WHERE fa.id = :accountId OR ta.id = :accountId",
+           countQuery = TRANSACTION_COUNT_SELECT + "WHERE fa.id = :accountId OR ta.id = :accountId")
+    Page<FinancialTransactionDTO> findDtoPageByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
+    /**
+     * User transactions (any of the user's accounts as sender or receiver), newest first
+     */
+    default Page<FinancialTransactionDTO> findDtoPageByUserId(Long userId, Pageable pageable) {
+        return findDtoPageByAccountIds(findAccountIdsByUserId(userId), pageable);
+    }
+
+    /**
+     * Transactions of a set of accounts (as sender or receiver), newest first
+     */
+    @Query(value = TRANSACTION_DTO_SELECT + "WHERE " + INVOLVES_ACCOUNTS +
+                   "ORDER BY t.createdAt DESC",
+           countQuery = "SELECT COUNT(t) FROM FinancialTransaction t WHERE " + INVOLVES_ACCOUNTS)
+    Page<FinancialTransactionDTO> findDtoPageByAccountIds(@Param("accountIds") Collection<Long> accountIds,
+                                                          Pageable pageable);
+
+    /**
+     * Transactions by status as DTOs, newest first
+     */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.status = :status ORDER BY t.createdAt DESC")
+    List<FinancialTransactionDTO> findDtosByStatus(@Param("status") FinancialTransaction.TransactionStatus status);
+
+    /**
+     * Criteria search as DTOs; only the supplied filters become predicates
+     */
+    default Page<FinancialTransactionDTO> findDtoPageByCriteria(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            FinancialTransaction.TransactionStatus status,
+            Pageable pageable) {
+        return findDtoPage(FinancialTransactionSpecifications.matching(
+                accountIdsOf(userId), startDate, endDate, status), pageable);
+    }
+
+    // ===== KEYSET (cursor) PAGINATION =====
+    // Seek on (createdAt, id) instead of OFFSET, and Slice results skip the COUNT query,
+    // so every page costs the same regardless of depth
+
+    /**
+     * First page of an account's transactions, newest first
+     */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE fa.id = :accountId OR ta.id = :accountId " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<FinancialTransactionDTO> findFirstPageByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
+    /**
+     * Next page of an account's transactions, strictly after the (createdAt, id) cursor
+     */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE (fa.id = :accountId OR ta.id = :accountId) " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<FinancialTransactionDTO> findPageByAccountIdAfter(@Param("accountId") Long accountId,
+                                                            @Param("createdAt") LocalDateTime createdAt,
+                                                            @Param("id") Long id,
+                                                            Pageable pageable);
+
+    /**
+     * First page of a user's transactions, newest first
+     */
+    default Slice<FinancialTransactionDTO> findFirstPageByUserId(Long userId, Pageable pageable) {
+        return findFirstPageByAccountIds(findAccountIdsByUserId(userId), pageable);
+    }
+
+    /**
+     * Next page of a user's transactions, strictly after the (createdAt, id) cursor
+     */
+    default Slice<FinancialTransactionDTO> findPageByUserIdAfter(Long userId, LocalDateTime createdAt, Long id,
+                                                                 Pageable pageable) {
+        return findPageByAccountIdsAfter(findAccountIdsByUserId(userId), createdAt, id, pageable);
+    }
+
+    /**
+     * First page of the transactions of a set of accounts, newest first
+     */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE " + INVOLVES_ACCOUNTS +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<FinancialTransactionDTO> findFirstPageByAccountIds(@Param("accountIds") Collection<Long> accountIds,
+                                                             Pageable pageable);
+
+    /**
+     * Next page of the transactions of a set of accounts, strictly after the (createdAt, id) cursor
+     */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE " + INVOLVES_ACCOUNTS +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<FinancialTransactionDTO> findPageByAccountIdsAfter(@Param("accountIds") Collection<Long> accountIds,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") Long id,
+                                                             Pageable pageable);
+
+    /**
+     * Criteria search page; pass null cursor values for the first page
+     */
+    default Slice<FinancialTransactionDTO> findSliceByCriteria(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            FinancialTransaction.TransactionStatus status,
+            LocalDateTime cursorCreatedAt,
+            Long cursorId,
+            Pageable pageable) {
+        return findDtoSlice(FinancialTransactionSpecifications
+                .matching(accountIdsOf(userId), startDate, endDate, status)
+                .and(FinancialTransactionSpecifications.before(cursorCreatedAt, cursorId)), pageable);
+    }
+
     /**
      * Find transactions by user ID (from or to account)
      */
@@ -101,6 +301,12 @@ public interface FinancialTransactionRepository extends JpaRepository<FinancialT
      */
     Optional<FinancialTransaction> findByReferenceNumber(String referenceNumber);
 
+    /**
+     * Resolve generated ids for a set of reference numbers (rows: [id, referenceNumber])
+     */
+    @Query("SELECT t.id, t.referenceNumber FROM FinancialTransaction t WHERE t.referenceNumber IN :referenceNumbers")
+    List<Object[]> findIdsByReferenceNumbers(@Param("referenceNumbers") Collection<String> referenceNumbers);
+
     /**
      * Check if reference number exists
      */
@@ -173,26 +379,23 @@ public interface FinancialTransactionRepository extends JpaRepository<FinancialT
     // ========== COMPLEX QUERIES ==========
 
     /**
-     * Find transactions with multiple criteria
+     * Find transactions with multiple criteria; only the supplied filters become predicates
      */
-    @Query("SELECT t FROM FinancialTransaction t WHERE " +
-           "(:userId IS NULL OR t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId) AND " +
-           "(:startDate IS NULL OR t.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR t.createdAt <= :endDate) AND " +
-           "(:status IS NULL OR t.status = :status) AND " +
-           "(:transactionType IS NULL OR t.transactionType = :transactionType) AND " +
-           "(:minAmount IS NULL OR t.amount >= :minAmount) AND " +
-           "(:maxAmount IS NULL OR t.amount <= :maxAmount) " +
-           "ORDER BY t.createdAt DESC")
-    Page<FinancialTransaction> findTransactionsByCriteria(
-            @Param("userId") Long userId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            @Param("status") FinancialTransaction.TransactionStatus status,
-            @Param("transactionType") FinancialTransaction.TransactionType transactionType,
-            @Param("minAmount") BigDecimal minAmount,
-            @Param("maxAmount") BigDecimal maxAmount,
-            Pageable pageable);
+    default Page<FinancialTransaction> findTransactionsByCriteria(
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            FinancialTransaction.TransactionStatus status,
+            FinancialTransaction.TransactionType transactionType,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            Pageable pageable) {
+        return findAll(FinancialTransactionSpecifications.matching(accountIdsOf(userId), startDate, endDate, status)
+                        .and(QuerySpecifications.equal("transactionType", transactionType))
+                        .and(QuerySpecifications.atLeast("amount", minAmount))
+                        .and(QuerySpecifications.atMost("amount", maxAmount)),
+                QuerySpecifications.newestFirst(pageable));
+    }
 
     /**
      * Search transactions by description
@@ -265,11 +468,17 @@ public interface FinancialTransactionRepository extends JpaRepository<FinancialT
     /**
      * Find recent user transactions
      */
-    @Query("SELECT t FROM FinancialTransaction t WHERE " +
-           "(t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId) AND " +
-           "t.createdAt >= :since ORDER BY t.createdAt DESC")
-    List<FinancialTransaction> findRecentUserTransactions(
-            @Param("userId") Long userId, @Param("since") LocalDateTime since);
+    default List<FinancialTransaction> findRecentUserTransactions(Long userId, LocalDateTime since) {
+        return findRecentAccountTransactions(findAccountIdsByUserId(userId), since);
+    }
+
+    /**
+     * Find recent transactions of a set of accounts
+     */
+    @Query("SELECT t FROM FinancialTransaction t WHERE " + INVOLVES_ACCOUNTS +
+           "AND t.createdAt >= :since ORDER BY t.createdAt DESC")
+    List<FinancialTransaction> findRecentAccountTransactions(
+            @Param("accountIds") Collection<Long> accountIds, @Param("since") LocalDateTime since);
 
     // ========== ACCOUNT BALANCE QUERIES ==========
 
@@ -316,4 +525,11 @@ public interface FinancialTransactionRepository extends JpaRepository<FinancialT
             @Param("toAccountId") Long toAccountId,
             @Param("amount") BigDecimal amount,
             @Param("since") LocalDateTime since);
+
+    /**
+     * Account ids of the user filter, or null (no filter) when no user is given
+     */
+    private List<Long> accountIdsOf(Long userId) {
+        return userId != null ? findAccountIdsByUserId(userId) : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+// FinancialTransactionSearchRepository.java - Buscas dinâmicas projetadas em DTO
+package com.example.azure_sql_demo.repository;
+
+import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specification searches returning FinancialTransactionDTO, newest first (createdAt, id).
+ * JpaSpecificationExecutor only returns entities; this fragment keeps the single-statement
+ * DTO projection used by the other listing queries.
+ */
+public interface FinancialTransactionSearchRepository {
+
+    /**
+     * Page of matching transactions; extra ordering from the Pageable replaces createdAt
+     */
+    Page<FinancialTransactionDTO> findDtoPage(Specification<FinancialTransaction> spec, Pageable pageable);
+
+    /**
+     * Matching transactions without a COUNT query (keyset pagination)
+     */
+    Slice<FinancialTransactionDTO> findDtoSlice(Specification<FinancialTransaction> spec, Pageable pageable);
+}
@@ -0,0 +1,90 @@
+// FinancialTransactionSearchRepositoryImpl.java - Implementação com Criteria API
+package com.example.azure_sql_demo.repository;
+
+import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
+import com.example.azure_sql_demo.model.Account;
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+class FinancialTransactionSearchRepositoryImpl implements FinancialTransactionSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<FinancialTransactionDTO> findDtoPage(Specification<FinancialTransaction> spec, Pageable pageable) {
+        List<FinancialTransactionDTO> content = select(spec, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<FinancialTransactionDTO> findDtoSlice(Specification<FinancialTransaction> spec, Pageable pageable) {
+        int size = pageable.getPageSize();
+        List<FinancialTransactionDTO> rows = select(spec, pageable, size + 1);
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    private List<FinancialTransactionDTO> select(Specification<FinancialTransaction> spec, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FinancialTransactionDTO> query = cb.createQuery(FinancialTransactionDTO.class);
+        Root<FinancialTransaction> t = query.from(FinancialTransaction.class);
+        Join<FinancialTransaction, Account> fa = t.join("fromAccount", JoinType.LEFT);
+        Join<FinancialTransaction, Account> ta = t.join("toAccount", JoinType.LEFT);
+
+        query.select(cb.construct(FinancialTransactionDTO.class,
+                t.get("id"), t.get("transactionType"), t.get("amount"), t.get("description"),
+                t.get("referenceNumber"), t.get("status"), t.get("errorMessage"), t.get("processedAt"),
+                fa.get("accountNumber"), ta.get("accountNumber"), t.get("createdAt")));
+
+        Predicate predicate = spec.toPredicate(t, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<Order> orders = new ArrayList<>();
+        if (pageable.getSort().isSorted()) {
+            orders.addAll(QueryUtils.toOrders(pageable.getSort(), t, cb));
+        } else {
+            orders.add(cb.desc(t.get("createdAt")));
+        }
+        orders.add(cb.desc(t.get("id")));
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Specification<FinancialTransaction> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<FinancialTransaction> t = query.from(FinancialTransaction.class);
+        query.select(cb.count(t));
+
+        Predicate predicate = spec.toPredicate(t, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,60 @@
+// FinancialTransactionSpecifications.java - Filtros dinâmicos de transações financeiras
+package com.example.azure_sql_demo.repository;
+
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static com.example.azure_sql_demo.repository.QuerySpecifications.atLeast;
+import static com.example.azure_sql_demo.repository.QuerySpecifications.atMost;
+import static com.example.azure_sql_demo.repository.QuerySpecifications.equal;
+
+/**
+ * Specifications for transaction searches; null arguments add no predicate.
+ */
+public final class FinancialTransactionSpecifications {
+
+    private FinancialTransactionSpecifications() {
+    }
+
+    /**
+     * Filters of the transaction search endpoints; accountIds are the user's accounts (see
+     * FinancialTransactionRepository.findAccountIdsByUserId)
+     */
+    public static Specification<FinancialTransaction> matching(Collection<Long> accountIds, LocalDateTime startDate,
+                                                               LocalDateTime endDate,
+                                                               FinancialTransaction.TransactionStatus status) {
+        return Specification.where(involvesAccounts(accountIds))
+                .and(atLeast("createdAt", startDate))
+                .and(atMost("createdAt", endDate))
+                .and(equal("status", status));
+    }
+
+    /**
+     * Any of the given accounts as sender or receiver.
+     *
+     * The ids are bound as parameters, so each side is an index condition on the
+     * (from_account_id, created_at, id) / (to_account_id, created_at, id) indexes
+     */
+    public static Specification<FinancialTransaction> involvesAccounts(Collection<Long> accountIds) {
+        if (accountIds == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(root.get("fromAccount").get("id").in(accountIds),
+                root.get("toAccount").get("id").in(accountIds));
+    }
+
+    /**
+     * Keyset position: strictly after the (createdAt, id) cursor in newest-first order
+     */
+    public static Specification<FinancialTransaction> before(LocalDateTime createdAt, Long id) {
+        if (createdAt == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDateTime>get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.<Long>get("id"), id)));
+    }
+}
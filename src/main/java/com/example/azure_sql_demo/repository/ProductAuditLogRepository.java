@@ -4,7 +4,9 @@ package com.example.azure_sql_demo.repository;
 import com.example.azure_sql_demo.model.ProductAuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +15,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ProductAuditLogRepository extends JpaRepository<ProductAuditLog, Long> {
+public interface ProductAuditLogRepository extends JpaRepository<ProductAuditLog, Long>,
+        JpaSpecificationExecutor<ProductAuditLog> {
 
     /**
      * Find audit logs by product ID
@@ -66,22 +69,22 @@ public interface ProductAuditLogRepository extends JpaRepository<ProductAuditLog
     List<ProductAuditLog> findByProductIdInOrderByCreatedAtDesc(List<Long> productIds);
 
     /**
-     * Find audit logs with custom query
+     * Find audit logs with custom query; only the supplied filters become predicates
      */
-    @Query("SELECT p FROM ProductAuditLog p WHERE " +
-           "(:productId IS NULL OR p.productId = :productId) AND " +
-           "(:action IS NULL OR p.action = :action) AND " +
-           "(:userId IS NULL OR p.userId = :userId) AND " +
-           "(:startDate IS NULL OR p.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR p.createdAt <= :endDate) " +
-           "ORDER BY p.createdAt DESC")
-    Page<ProductAuditLog> findAuditLogsByCriteria(
-            @Param("productId") Long productId,
-            @Param("action") String action,
-            @Param("userId") Long userId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable);
+    default Page<ProductAuditLog> findAuditLogsByCriteria(
+            Long productId,
+            String action,
+            Long userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        return findAll(Specification.where(QuerySpecifications.<ProductAuditLog>equal("productId", productId))
+                        .and(QuerySpecifications.equal("action", action))
+                        .and(QuerySpecifications.equal("userId", userId))
+                        .and(QuerySpecifications.atLeast("createdAt", startDate))
+                        .and(QuerySpecifications.atMost("createdAt", endDate)),
+                QuerySpecifications.newestFirst(pageable));
+    }
 
     /**
      * Get audit statistics
@@ -2,19 +2,28 @@
 package com.example.azure_sql_demo.repository;
 
 import com.example.azure_sql_demo.model.Product;
+import com.example.azure_sql_demo.service.ProductStatsAggregate;
+import com.example.azure_sql_demo.service.ProductStatsEntry;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     // ========== BASIC QUERIES ==========
 
@@ -28,6 +37,11 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     List<Product> findByNameContainingIgnoreCase(String name);
 
+    /**
+     * Find products by name containing (case-insensitive), paginated
+     */
+    Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
     /**
      * Find products by price range
      */
@@ -146,21 +160,25 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // ========== ADVANCED QUERIES ==========
 
     /**
-     * Find products by multiple criteria
+     * Find products by multiple criteria; only the supplied filters become predicates
      */
-    @Query("SELECT p FROM Product p WHERE " +
-           "(:category IS NULL OR p.category = :category) AND " +
-           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-           "(:isActive IS NULL OR p.isActive = :isActive) AND " +
-           "(:inStock IS NULL OR (:inStock = true AND p.quantity > 0) OR (:inStock = false AND p.quantity = 0))")
-    Page<Product> findProductsByCriteria(
-            @Param("category") String category,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("isActive") Boolean isActive,
-            @Param("inStock") Boolean inStock,
-            Pageable pageable);
+    default Page<Product> findProductsByCriteria(
+            String category,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Boolean inStock,
+            Pageable pageable) {
+        Specification<Product> stock = inStock == null ? null : (root, query, cb) -> inStock
+                ? cb.greaterThan(root.<Integer>get("quantity"), 0)
+                : cb.equal(root.get("quantity"), 0);
+
+        return findAll(Specification.where(QuerySpecifications.<Product>equal("category", category))
+                .and(QuerySpecifications.atLeast("price", minPrice))
+                .and(QuerySpecifications.atMost("price", maxPrice))
+                .and(QuerySpecifications.equal("isActive", isActive))
+                .and(stock), pageable);
+    }
 
     /**
      * Search products by name or description
@@ -170,6 +188,24 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
            "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Product> searchByNameOrDescription(@Param("searchTerm") String searchTerm);
 
+    /**
+     * Ranked name search: exact match, then prefix match, then any substring.
+     * The term must be lower-case and LIKE-escaped (see SearchTerms)
+     */
+    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE CONCAT('%', :term, '%') ESCAPE '\\' " +
+           "ORDER BY CASE WHEN LOWER(p.name) = :exact THEN 0 " +
+           "WHEN LOWER(p.name) LIKE CONCAT(:term, '%') ESCAPE '\\' THEN 1 ELSE 2 END, p.name, p.id")
+    List<Product> searchByName(@Param("term") String term, @Param("exact") String exact);
+
+    /**
+     * Paginated ranked name search
+     */
+    @Query(value = "SELECT p FROM Product p WHERE LOWER(p.name) LIKE CONCAT('%', :term, '%') ESCAPE '\\' " +
+                   "ORDER BY CASE WHEN LOWER(p.name) = :exact THEN 0 " +
+                   "WHEN LOWER(p.name) LIKE CONCAT(:term, '%') ESCAPE '\\' THEN 1 ELSE 2 END, p.name, p.id",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE LOWER(p.name) LIKE CONCAT('%', :term, '%') ESCAPE '\\'")
+    Page<Product> searchByName(@Param("term") String term, @Param("exact") String exact, Pageable pageable);
+
     /**
      * Find top products by value (price * quantity)
      */
@@ -240,6 +276,47 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                    "FROM products", nativeQuery = true)
     Object[] getProductStatisticsNative();
 
+    /**
+     * All scalar product statistics in one pass over products
+     */
+    @Query("SELECT new com.example.azure_sql_demo.service.ProductStatsAggregate(" +
+           "COUNT(p), " +
+           "SUM(CASE WHEN p.isActive = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.isActive = false THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.isActive = true AND p.quantity = 0 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.isActive = true AND p.quantity < :lowStockThreshold THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.isActive = true THEN p.price * p.quantity END), " +
+           "SUM(CASE WHEN p.isActive = true THEN p.price END), " +
+           "COUNT(DISTINCT p.category)) " +
+           "FROM Product p")
+    ProductStatsAggregate aggregateStatistics(@Param("lowStockThreshold") int lowStockThreshold);
+
+    /**
+     * Most expensive and cheapest active product names and the category with most products,
+     * as (kind, value) rows with kind MAX, MIN or CATEGORY. Window functions keep it portable
+     * across H2, PostgreSQL and SQL Server.
+     */
+    @Query(value = "SELECT stat_kind, stat_value FROM (" +
+                   "SELECT 'MAX' AS stat_kind, name AS stat_value, " +
+                   "ROW_NUMBER() OVER (ORDER BY price DESC, id) AS rn FROM products WHERE is_active = :active " +
+                   "UNION ALL " +
+                   "SELECT 'MIN', name, " +
+                   "ROW_NUMBER() OVER (ORDER BY price ASC, id) FROM products WHERE is_active = :active " +
+                   "UNION ALL " +
+                   "SELECT 'CATEGORY', category, " +
+                   "ROW_NUMBER() OVER (ORDER BY COUNT(*) DESC, category) FROM products " +
+                   "WHERE category IS NOT NULL GROUP BY category" +
+                   ") ranked WHERE rn = 1", nativeQuery = true)
+    List<Object[]> findStatisticsHighlights(@Param("active") boolean active);
+
+    /**
+     * Stream the statistics fields of every product (consume inside a transaction and close)
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.azure_sql_demo.service.ProductStatsEntry(" +
+           "p.id, p.name, p.price, p.quantity, p.category, p.isActive) FROM Product p")
+    Stream<ProductStatsEntry> streamStatsEntries();
+
     // ========== BULK OPERATIONS ==========
 
     /**
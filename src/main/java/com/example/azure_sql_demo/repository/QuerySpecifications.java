@@ -0,0 +1,51 @@
+// QuerySpecifications.java - Predicados reutilizáveis para consultas dinâmicas
+package com.example.azure_sql_demo.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Building blocks for criteria searches. Every factory returns null for a null value, and
+ * Specification.and() skips nulls, so a search only emits the predicates that were supplied:
+ * each filter combination gets its own SQL text (and its own cached plan) instead of one
+ * catch-all "(:p IS NULL OR col = :p)" statement that cannot pick the right index.
+ */
+public final class QuerySpecifications {
+
+    private QuerySpecifications() {
+    }
+
+    public static <T> Specification<T> equal(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    public static <T, Y extends Comparable<? super Y>> Specification<T> atLeast(String attribute, Y value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Y>get(attribute), value);
+    }
+
+    public static <T, Y extends Comparable<? super Y>> Specification<T> atMost(String attribute, Y value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<Y>get(attribute), value);
+    }
+
+    /**
+     * Newest first, followed by any ordering requested in the Pageable
+     */
+    public static Pageable newestFirst(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt").and(pageable.getSort());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+}
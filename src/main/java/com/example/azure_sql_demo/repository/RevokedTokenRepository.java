@@ -0,0 +1,31 @@
+// RevokedTokenRepository.java
+package com.example.azure_sql_demo.repository;
+
+import com.example.azure_sql_demo.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByJti(String jti);
+
+    /**
+     * Revocations recorded since a point in time that are still unexpired
+     */
+    @Query("SELECT r FROM RevokedToken r WHERE r.revokedAt >= :since AND r.expiresAt > :now ORDER BY r.revokedAt")
+    List<RevokedToken> findActiveRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * Remove revocations whose tokens have expired anyway
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
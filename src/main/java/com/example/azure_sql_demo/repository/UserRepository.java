@@ -2,12 +2,15 @@
 package com.example.azure_sql_demo.repository;
 
 import com.example.azure_sql_demo.model.User;
+import com.example.azure_sql_demo.security.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +35,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.username = :identifier OR u.email = :identifier")
     Optional<User> findByUsernameOrEmail(@Param("identifier") String identifier);
 
+    /**
+     * Record a successful login without reloading the user
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.lastLogin = :lastLogin, u.failedLoginAttempts = 0 WHERE u.id = :id")
+    int recordSuccessfulLogin(@Param("id") Long id, @Param("lastLogin") LocalDateTime lastLogin);
+
+    /**
+     * Replace the stored password hash (re-hash on login)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    /**
+     * Account flags only (no roles join), for claims-only authentication
+     */
+    @Query("SELECT new com.example.azure_sql_demo.security.UserStatus(u.isEnabled, u.isAccountNonExpired, " +
+           "u.isAccountNonLocked, u.isCredentialsNonExpired) FROM User u WHERE u.id = :id")
+    Optional<UserStatus> findStatusById(@Param("id") Long id);
+
     /**
      * Check if username exists
      */
@@ -84,13 +110,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByCreatedAtAfter(LocalDateTime since);
 
     /**
-     * Search users by name or username
+     * Search users by name or username; the term must be lower-case and LIKE-escaped (see SearchTerms)
      */
     @Query("SELECT u FROM User u WHERE " +
-           "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+           "LOWER(u.username) LIKE CONCAT('%', :searchTerm, '%') ESCAPE '\\' OR " +
+           "LOWER(u.firstName) LIKE CONCAT('%', :searchTerm, '%') ESCAPE '\\' OR " +
+           "LOWER(u.lastName) LIKE CONCAT('%', :searchTerm, '%') ESCAPE '\\' OR " +
+           "LOWER(u.email) LIKE CONCAT('%', :searchTerm, '%') ESCAPE '\\'")
     Page<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     /**
@@ -0,0 +1,239 @@
+// JwtKeyRing.java - Chaves de assinatura/verificação dos JWT e JWKS
+package com.example.azure_sql_demo.security;
+
+import com.example.azure_sql_demo.config.JwtSigningProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signing key and pre-parsed verification keys, resolved by the token's kid header.
+ *
+ * Keys are decoded once at startup; verification only does a map lookup. The public half
+ * of the ring is published as a JWK set so gateways can verify tokens without the API.
+ */
+@Component
+@EnableConfigurationProperties(JwtSigningProperties.class)
+@Slf4j
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private final SignatureAlgorithm algorithm;
+    private final SecretKey hmacKey;
+    private final boolean acceptHmac;
+    private final String activeKid;
+    private final Key signingKey;
+    private final Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+    private final Map<String, Object> jwks;
+
+    public JwtKeyRing(JwtSigningProperties properties, @Value("${app.jwt.secret}") String jwtSecret) {
+        this.algorithm = SignatureAlgorithm.forName(properties.getAlgorithm().name());
+        this.hmacKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+
+        if (!algorithm.isRsa() && !algorithm.isEllipticCurve()) {
+            this.acceptHmac = true;
+            this.activeKid = null;
+            this.signingKey = hmacKey;
+            this.jwks = Map.of("keys", List.of());
+            return;
+        }
+
+        this.acceptHmac = properties.isAcceptLegacyHmac();
+        if (acceptHmac) {
+            log.warn("Legacy HS256 tokens are accepted alongside {}; disable app.jwt.signing.accept-legacy-hmac " +
+                    "once the migration window has passed", algorithm);
+        }
+        ResourceLoader resourceLoader = new DefaultResourceLoader();
+        String keyFamily = algorithm.isRsa() ? "RSA" : "EC";
+        Map<String, PrivateKey> privateKeys = new LinkedHashMap<>();
+
+        for (JwtSigningProperties.Key key : properties.getKeys()) {
+            verificationKeys.put(key.getKid(), parsePublicKey(readPem(resourceLoader, key.getPublicKey()), keyFamily));
+            if (key.getPrivateKey() != null) {
+                privateKeys.put(key.getKid(), parsePrivateKey(readPem(resourceLoader, key.getPrivateKey()), keyFamily));
+            }
+        }
+
+        if (verificationKeys.isEmpty()) {
+            // Sem chaves configuradas: par efêmero (tokens não sobrevivem a restart nem são aceitos por outros nós)
+            KeyPair keyPair = Keys.keyPairFor(algorithm);
+            String kid = "ephemeral-" + UUID.randomUUID().toString().substring(0, 8);
+            verificationKeys.put(kid, keyPair.getPublic());
+            privateKeys.put(kid, keyPair.getPrivate());
+            log.warn("No JWT signing keys configured for {}, generated ephemeral key {}", algorithm, kid);
+        }
+
+        this.activeKid = properties.getActiveKid() != null
+                ? properties.getActiveKid()
+                : verificationKeys.keySet().iterator().next();
+        this.signingKey = privateKeys.get(activeKid);
+        if (signingKey == null) {
+            throw new IllegalStateException("No private key configured for active JWT kid: " + activeKid);
+        }
+
+        this.jwks = Map.of("keys", buildJwks());
+        log.info("JWT signing with {} (active kid: {}, verification keys: {}, legacy HS256 accepted: {})",
+                algorithm, activeKid, verificationKeys.keySet(), acceptHmac);
+    }
+
+    // ========== SIGNING ==========
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * kid header for new tokens (null for HS256)
+     */
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    // ========== VERIFICATION ==========
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        SignatureAlgorithm tokenAlgorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+
+        if (tokenAlgorithm.isHmac()) {
+            if (!acceptHmac) {
+                throw new UnsupportedJwtException("HMAC-signed tokens are not accepted");
+            }
+            return hmacKey;
+        }
+
+        if (tokenAlgorithm != algorithm) {
+            throw new UnsupportedJwtException("Unexpected JWT algorithm: " + tokenAlgorithm);
+        }
+
+        PublicKey key = header.getKeyId() != null ? verificationKeys.get(header.getKeyId()) : null;
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + header.getKeyId());
+        }
+        return key;
+    }
+
+    /**
+     * Public keys as a JWK set (empty for HS256: the secret is never published)
+     */
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    // ========== KEY PARSING ==========
+
+    private String readPem(ResourceLoader resourceLoader, String value) {
+        if (value == null) {
+            throw new IllegalStateException("JWT key PEM is missing");
+        }
+        if (value.contains("-----BEGIN")) {
+            return value;
+        }
+        try (InputStream in = resourceLoader.getResource(value).getInputStream()) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read JWT key: " + value, e);
+        }
+    }
+
+    private byte[] pemBody(String pem) {
+        String base64 = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private PublicKey parsePublicKey(String pem, String keyFamily) {
+        try {
+            return KeyFactory.getInstance(keyFamily).generatePublic(new X509EncodedKeySpec(pemBody(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + keyFamily + " public key", e);
+        }
+    }
+
+    private PrivateKey parsePrivateKey(String pem, String keyFamily) {
+        try {
+            return KeyFactory.getInstance(keyFamily).generatePrivate(new PKCS8EncodedKeySpec(pemBody(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + keyFamily + " private key (PKCS#8 expected)", e);
+        }
+    }
+
+    // ========== JWKS ==========
+
+    private List<Map<String, Object>> buildJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", algorithm.getValue());
+            if (key instanceof RSAPublicKey rsaKey) {
+                jwk.put("kty", "RSA");
+                jwk.put("n", base64Url(unsigned(rsaKey.getModulus())));
+                jwk.put("e", base64Url(unsigned(rsaKey.getPublicExponent())));
+            } else if (key instanceof ECPublicKey ecKey) {
+                int size = (ecKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-" + ecKey.getParams().getCurve().getField().getFieldSize());
+                jwk.put("x", base64Url(fixedLength(ecKey.getW().getAffineX(), size)));
+                jwk.put("y", base64Url(fixedLength(ecKey.getW().getAffineY(), size)));
+            }
+            keys.add(jwk);
+        });
+        return List.copyOf(keys);
+    }
+
+    private byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private byte[] fixedLength(BigInteger value, int length) {
+        byte[] bytes = unsigned(value);
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] padded = new byte[length];
+        System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+        return padded;
+    }
+
+    private String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
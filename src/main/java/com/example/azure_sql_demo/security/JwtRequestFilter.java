@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +20,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -31,48 +33,71 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private UserStatusService userStatusService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    public enum AuthMode {
+        /** Load the user (with roles) from the database on every request */
+        DATABASE,
+        /** Build the principal from the signed claims; only the cached account status is checked */
+        CLAIMS
+    }
+
+    @Value("${app.security.auth-mode:DATABASE}")
+    private AuthMode authMode;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
+        VerifiedToken verifiedToken = null;
 
         // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException e) {
-                log.error("Unable to get JWT Token", e);
-            } catch (Exception e) {
-                log.error("JWT Token has expired or is invalid", e);
+            String jwtToken = requestTokenHeader.substring(7);
+            // Uma única verificação (assinatura + expiração); tokens repetidos vêm do cache
+            verifiedToken = jwtTokenUtil.verify(jwtToken).orElse(null);
+            if (verifiedToken == null) {
+                log.debug("JWT Token has expired or is invalid");
+            } else if (tokenRevocationService.isRevoked(verifiedToken.jti())) {
+                log.debug("JWT Token has been revoked: {}", verifiedToken.jti());
+                verifiedToken = null;
             }
         } else {
             log.debug("JWT Token does not begin with Bearer String");
         }
 
         // Once we get the token validate it.
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (verifiedToken != null && verifiedToken.username() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            String username = verifiedToken.username();
+
+            // Tokens emitidos antes do claim uid seguem pelo banco
+            if (authMode == AuthMode.CLAIMS && verifiedToken.userId() != null) {
+                authenticateFromClaims(verifiedToken, request);
+                chain.doFilter(request, response);
+                return;
+            }
 
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
             // if token is valid configure Spring Security to manually set authentication
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+            if (username.equals(userDetails.getUsername())) {
                 
                 // CORREÇÃO CRÍTICA: Extrair authorities DO TOKEN, não do UserDetails
-                String authoritiesFromToken = jwtTokenUtil.getAuthoritiesFromToken(jwtToken);
+                String authoritiesFromToken = verifiedToken.authorities();
                 
                 Collection<SimpleGrantedAuthority> authorities;
                 
                 if (StringUtils.hasText(authoritiesFromToken)) {
                     // Converter string de authorities do token em Collection<GrantedAuthority>
-                    authorities = Arrays.stream(authoritiesFromToken.split(","))
-                            .map(String::trim)
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
+                    authorities = parseAuthorities(authoritiesFromToken);
                     
                     log.debug("Authorities from token: {}", authorities.stream()
                             .map(SimpleGrantedAuthority::getAuthority)
@@ -102,4 +127,38 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    /**
+     * Claims-only path: no user query, just the (cached) enabled/locked check
+     */
+    private void authenticateFromClaims(VerifiedToken verifiedToken, HttpServletRequest request) {
+        Long userId = verifiedToken.userId();
+        UserStatus status = userStatusService.getStatus(userId).orElse(null);
+
+        if (status == null || !status.isActive()) {
+            log.debug("Rejecting token of inactive or unknown user id: {}", userId);
+            return;
+        }
+
+        Collection<SimpleGrantedAuthority> authorities = StringUtils.hasText(verifiedToken.authorities())
+                ? parseAuthorities(verifiedToken.authorities())
+                : List.of();
+
+        UserDetailsImpl principal = new UserDetailsImpl(userId, verifiedToken.username(), null, null,
+                true, true, true, true, authorities);
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal, null, authorities);
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        log.debug("Authenticated from claims: {} (id {})", verifiedToken.username(), userId);
+    }
+
+    private Collection<SimpleGrantedAuthority> parseAuthorities(String authorities) {
+        return Arrays.stream(authorities.split(","))
+                .map(String::trim)
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
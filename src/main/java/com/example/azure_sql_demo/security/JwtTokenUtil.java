@@ -1,25 +1,37 @@
 package com.example.azure_sql_demo.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 @Slf4j
 public class JwtTokenUtil {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
-
     @Value("${app.jwt.expiration}")
     private Long jwtExpiration;
 
@@ -29,6 +41,71 @@ public class JwtTokenUtil {
     @Value("${app.jwt.issuer:financeiro-api}")
     private String jwtIssuer;
 
+    @Value("${app.jwt.verification-cache.enabled:true}")
+    private boolean verificationCacheEnabled;
+
+    @Value("${app.jwt.verification-cache.max-size:10000}")
+    private long verificationCacheMaxSize;
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JwtParser jwtParser;
+
+    /** auth.jwt.verification latency, tagged by result: cached, valid, invalid */
+    private Timer cachedVerification;
+    private Timer validVerification;
+    private Timer invalidVerification;
+
+    /** Verified tokens by SHA-256 of the compact token, each entry expiring at the token's exp */
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        // Chaves pré-carregadas no key ring, resolvidas pelo kid do header
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verificationCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt-verification");
+
+        cachedVerification = verificationTimer("cached");
+        validVerification = verificationTimer("valid");
+        invalidVerification = verificationTimer("invalid");
+    }
+
+    private Timer verificationTimer(String result) {
+        return Timer.builder("auth.jwt.verification")
+                .description("JWT verification latency")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     // ========== TOKEN GENERATION ==========
 
     /**
@@ -44,6 +121,14 @@ public class JwtTokenUtil {
      * Generate JWT token from UserDetails
      */
     public String generateToken(UserDetails userDetails) {
+        Long userId = userDetails instanceof UserDetailsImpl impl ? impl.getId() : null;
+        return generateToken(userDetails, userId);
+    }
+
+    /**
+     * Generate JWT token from UserDetails, carrying the user id (uid claim)
+     */
+    public String generateToken(UserDetails userDetails, Long userId) {
         log.debug("Generating JWT token for user: {}", userDetails.getUsername());
 
         // Garante que todas as authorities estejam com prefixo ROLE_
@@ -59,6 +144,9 @@ public class JwtTokenUtil {
         Map<String, Object> claims = new HashMap<>();
         claims.put("authorities", authorities);
         claims.put("type", "access_token");
+        if (userId != null) {
+            claims.put("uid", userId);
+        }
         
         return createToken(claims, userDetails.getUsername(), jwtExpiration);
     }
@@ -126,6 +214,40 @@ public class JwtTokenUtil {
 
     // ========== TOKEN VALIDATION ==========
 
+    /**
+     * Verify signature and expiration once and return the claims the filter needs.
+     * Repeat calls with the same token are served from the verification cache.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        String cacheKey = verificationCacheEnabled ? hash(token) : null;
+        if (cacheKey != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+            if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+                cachedVerification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Optional.of(cached);
+            }
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = VerifiedToken.from(getAllClaimsFromToken(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidVerification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
+
+        if (cacheKey != null) {
+            verifiedTokens.put(cacheKey, verified);
+        }
+        validVerification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.of(verified);
+    }
+
     /**
      * Validate token with username
      */
@@ -200,15 +322,19 @@ public class JwtTokenUtil {
             Date now = new Date();
             Date expiryDate = new Date(now.getTime() + expiration);
 
-            SecretKey key = getSigningKey();
+            JwtBuilder builder = Jwts.builder();
+            if (keyRing.getActiveKid() != null) {
+                builder.setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKid());
+            }
 
-            return Jwts.builder()
+            return builder
                     .setClaims(claims)
+                    .setId(UUID.randomUUID().toString())
                     .setSubject(subject)
                     .setIssuer(jwtIssuer)
                     .setIssuedAt(now)
                     .setExpiration(expiryDate)
-                    .signWith(key, SignatureAlgorithm.HS256)
+                    .signWith(keyRing.getSigningKey(), keyRing.getAlgorithm())
                     .compact();
 
         } catch (Exception e) {
@@ -230,12 +356,7 @@ public class JwtTokenUtil {
      */
     private Claims getAllClaimsFromToken(String token) {
         try {
-            SecretKey key = getSigningKey();
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             log.debug("JWT token is expired: {}", e.getMessage());
             throw e;
@@ -255,11 +376,15 @@ public class JwtTokenUtil {
     }
 
     /**
-     * Get signing key from secret
+     * Cache key for a token: the raw token is never kept in memory
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     // ========== TOKEN UTILITIES ==========
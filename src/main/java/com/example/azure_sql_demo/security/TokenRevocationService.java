@@ -0,0 +1,152 @@
+// TokenRevocationService.java - Revogação de tokens (JTI) com filtro de Bloom por nó
+package com.example.azure_sql_demo.security;
+
+import com.example.azure_sql_demo.model.RevokedToken;
+import com.example.azure_sql_demo.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Revoked token ids, persisted in revoked_tokens and mirrored in memory on every node.
+ *
+ * {@link #isRevoked} never touches the database: a Bloom filter answers "definitely not
+ * revoked" for almost every token and the exact JTI set settles the rest. Each node pulls
+ * new revocations every refresh interval (the propagation window), re-reading a short
+ * overlap so rows committed late or stamped by a skewed clock are not missed. Entries are
+ * dropped, and the filter rebuilt, once their tokens have expired.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final long overlapMs;
+
+    /** JTI -> token expiration */
+    private final ConcurrentMap<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime lastRefresh;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${app.security.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${app.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${app.security.revocation.overlap-ms:60000}") long overlapMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.overlapMs = overlapMs;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void init() {
+        LocalDateTime now = LocalDateTime.now();
+        load(revokedTokenRepository.findActiveRevokedSince(LocalDateTime.of(1970, 1, 1, 0, 0), now));
+        lastRefresh = now;
+        log.info("Token revocation list loaded: {} active revocations", revoked.size());
+    }
+
+    // ========== PUBLIC API ==========
+
+    /**
+     * O(1), no I/O: safe to call on every request
+     */
+    public boolean isRevoked(String jti) {
+        return jti != null && bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revoke a token until its expiration
+     */
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || isRevoked(jti) || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                    .revokedAt(LocalDateTime.now())
+                    .build());
+        }
+        remember(jti, expiresAt);
+        log.info("Token revoked: {}", jti);
+    }
+
+    public int getRevokedCount() {
+        return revoked.size();
+    }
+
+    // ========== SYNC ==========
+
+    /**
+     * Pull revocations recorded by any node since the last refresh
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval-ms:5000}",
+               initialDelayString = "${app.security.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh.minusNanos(overlapMs * 1_000_000);
+        try {
+            load(revokedTokenRepository.findActiveRevokedSince(since, now));
+            lastRefresh = now;
+        } catch (Exception e) {
+            log.error("Revocation list refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Forget revocations of expired tokens, here and in the database
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.prune-interval-ms:600000}",
+               initialDelayString = "${app.security.revocation.prune-interval-ms:600000}")
+    @Transactional
+    public void prune() {
+        Instant now = Instant.now();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        rebuildFilter();
+
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Revocation list pruned: {} in memory, {} rows deleted", before - revoked.size(), deleted);
+    }
+
+    // ========== HELPERS ==========
+
+    private void load(List<RevokedToken> rows) {
+        for (RevokedToken row : rows) {
+            if (!revoked.containsKey(row.getJti())) {
+                remember(row.getJti(), row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+            }
+        }
+    }
+
+    /**
+     * Filter and set are updated under the same lock as the rebuild, so no JTI is lost in a swap
+     */
+    private synchronized void remember(String jti, Instant expiresAt) {
+        revoked.put(jti, expiresAt);
+        bloomFilter.put(jti);
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+}
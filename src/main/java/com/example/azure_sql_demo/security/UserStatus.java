@@ -0,0 +1,20 @@
+// UserStatus.java - Situação da conta usada na autenticação só por claims
+package com.example.azure_sql_demo.security;
+
+import java.io.Serializable;
+
+/**
+ * Account flags checked on every claims-only authentication (no roles, no password).
+ */
+public record UserStatus(Boolean enabled,
+                         Boolean accountNonExpired,
+                         Boolean accountNonLocked,
+                         Boolean credentialsNonExpired) implements Serializable {
+
+    public boolean isActive() {
+        return Boolean.TRUE.equals(enabled)
+                && Boolean.TRUE.equals(accountNonExpired)
+                && Boolean.TRUE.equals(accountNonLocked)
+                && Boolean.TRUE.equals(credentialsNonExpired);
+    }
+}
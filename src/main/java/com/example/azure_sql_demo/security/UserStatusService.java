@@ -0,0 +1,33 @@
+// UserStatusService.java - Cache curto da situação das contas
+package com.example.azure_sql_demo.security;
+
+import com.example.azure_sql_demo.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Enabled/locked/expired flags by user id, cached in "user-status" (short TTL).
+ *
+ * Claims-only authentication checks this instead of loading the user with its roles, so a
+ * disabled or locked account stops authenticating once its entry is evicted or expires.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatusService {
+
+    private final UserRepository userRepository;
+
+    @Cacheable(value = "user-status", key = "#userId")
+    public Optional<UserStatus> getStatus(Long userId) {
+        return userRepository.findStatusById(userId);
+    }
+
+    @CacheEvict(value = "user-status", key = "#userId")
+    public void evict(Long userId) {
+        // Eviction handled by @CacheEvict
+    }
+}
@@ -0,0 +1,23 @@
+// VerifiedToken.java - Claims de um JWT já verificado
+package com.example.azure_sql_demo.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a token whose signature and expiration have been checked.
+ */
+public record VerifiedToken(String username, Long userId, String authorities, String type, Instant expiresAt,
+                            String jti) {
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("uid", Long.class),
+                claims.get("authorities", String.class),
+                claims.get("type", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.now(),
+                claims.getId());
+    }
+}
@@ -0,0 +1,196 @@
+// AccountBalanceUpdater.java - Atualização atômica de saldo
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.exception.BusinessException;
+import com.example.azure_sql_demo.model.Account;
+import com.example.azure_sql_demo.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.SQLServerDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single-statement balance updates for deposits, withdrawals and payments.
+ *
+ * The balance check and the write happen in one conditional UPDATE, so there is no
+ * read-modify-write window in the JVM and concurrent updates on the same account are
+ * serialized by the database row lock. The UPDATE also returns the updated row (RETURNING on
+ * PostgreSQL, OUTPUT on SQL Server, FINAL TABLE on H2), which Hibernate maps to the managed
+ * Account, so the account is neither loaded before nor re-read after the write.
+ *
+ * Must be called inside a transaction, before the account is loaded in it: an instance that is
+ * already initialized in the persistence context would keep its old state.
+ */
+@Component
+@Slf4j
+public class AccountBalanceUpdater {
+
+    private static final String UPDATE = "UPDATE accounts SET balance = balance %s :amount, " +
+            "version = version + 1, updated_at = :now";
+
+    private static final String CONDITIONS = " WHERE %s = :key AND is_active = :active AND is_frozen = :frozen";
+
+    private static final String FUNDS_CHECK = " AND balance + COALESCE(credit_limit, 0) >= :amount";
+
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final ReturningClause returningClause;
+
+    public AccountBalanceUpdater(AccountRepository accountRepository, EntityManager entityManager,
+                                 EntityManagerFactory entityManagerFactory) {
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.returningClause = ReturningClause.of(entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect());
+    }
+
+    // ========== BY ACCOUNT NUMBER ==========
+
+    /**
+     * Credit an account that is not loaded yet and return it with the updated balance
+     */
+    public Account credit(String accountNumber, BigDecimal amount) {
+        return update("account_number", accountNumber, amount, false)
+                .orElseThrow(() -> rejection(accountNumber, amount, false));
+    }
+
+    /**
+     * Debit an account that is not loaded yet and return it with the updated balance
+     */
+    public Account debit(String accountNumber, BigDecimal amount) {
+        return update("account_number", accountNumber, amount, true)
+                .orElseThrow(() -> rejection(accountNumber, amount, true));
+    }
+
+    // ========== BY REFERENCE ==========
+
+    /**
+     * Credit the account behind an uninitialized reference (getReferenceById); only its id is read,
+     * and the reference resolves to the returned row without another SELECT
+     */
+    public Account credit(Account reference, BigDecimal amount) {
+        return update("id", reference.getId(), amount, false)
+                .orElseThrow(() -> rejection(reference.getId(), amount, false));
+    }
+
+    /**
+     * Debit the account behind an uninitialized reference (getReferenceById); only its id is read,
+     * and the reference resolves to the returned row without another SELECT
+     */
+    public Account debit(Account reference, BigDecimal amount) {
+        return update("id", reference.getId(), amount, true)
+                .orElseThrow(() -> rejection(reference.getId(), amount, true));
+    }
+
+    // ========== STATEMENT ==========
+
+    /**
+     * Run the conditional UPDATE; empty when no row matched (missing, inactive, frozen or lacking funds)
+     */
+    private Optional<Account> update(String keyColumn, Object key, BigDecimal amount, boolean debit) {
+        String sql = String.format(UPDATE, debit ? "-" : "+")
+                + String.format(CONDITIONS, keyColumn)
+                + (debit ? FUNDS_CHECK : "");
+
+        if (returningClause == ReturningClause.NONE) {
+            int updated = bind(entityManager.createNativeQuery(sql), key, amount).executeUpdate();
+            if (updated == 0) {
+                return Optional.empty();
+            }
+            return "id".equals(keyColumn)
+                    ? Optional.ofNullable(entityManager.find(Account.class, key))
+                    : accountRepository.findByAccountNumber((String) key);
+        }
+
+        @SuppressWarnings("unchecked")
+        NativeQuery<Account> query = (NativeQuery<Account>) entityManager
+                .createNativeQuery(returningClause.wrap(sql), Account.class)
+                .unwrap(NativeQuery.class);
+        query.addSynchronizedEntityClass(Account.class);
+
+        List<Account> updated = bind(query, key, amount).getResultList();
+        return updated.stream().findFirst();
+    }
+
+    private static <Q extends Query> Q bind(Q query, Object key, BigDecimal amount) {
+        query.setParameter("key", key);
+        query.setParameter("amount", amount);
+        query.setParameter("now", LocalDateTime.now());
+        query.setParameter("active", true);
+        query.setParameter("frozen", false);
+        return query;
+    }
+
+    /**
+     * How the database hands back the rows touched by an UPDATE
+     */
+    private enum ReturningClause {
+        RETURNING, OUTPUT, FINAL_TABLE, NONE;
+
+        static ReturningClause of(Dialect dialect) {
+            if (dialect instanceof PostgreSQLDialect) {
+                return RETURNING;
+            }
+            if (dialect instanceof SQLServerDialect) {
+                return OUTPUT;
+            }
+            if (dialect instanceof H2Dialect) {
+                return FINAL_TABLE;
+            }
+            return NONE;
+        }
+
+        String wrap(String update) {
+            return switch (this) {
+                case RETURNING -> update + " RETURNING *";
+                case OUTPUT -> update.replace(" WHERE ", " OUTPUT inserted.* WHERE ");
+                case FINAL_TABLE -> "SELECT * FROM FINAL TABLE (" + update + ")";
+                case NONE -> update;
+            };
+        }
+    }
+
+    // ========== FAILURES ==========
+
+    private BusinessException rejection(Long accountId, BigDecimal amount, boolean debit) {
+        return accountRepository.findById(accountId)
+                .map(account -> rejection(account, amount, debit))
+                .orElseGet(() -> new BusinessException("Account not found: " + accountId));
+    }
+
+    private BusinessException rejection(String accountNumber, BigDecimal amount, boolean debit) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .map(account -> rejection(account, amount, debit))
+                .orElseGet(() -> new BusinessException("Account not found: " + accountNumber));
+    }
+
+    /**
+     * Work out why the conditional UPDATE matched no row (only runs on the failure path)
+     */
+    private BusinessException rejection(Account account, BigDecimal amount, boolean debit) {
+        if (!account.getIsActive()) {
+            return new BusinessException("Account is not active");
+        }
+        if (account.getIsFrozen()) {
+            return new BusinessException("Account is frozen");
+        }
+        if (debit) {
+            log.debug("Insufficient funds on {}: available {}, requested {}",
+                    account.getAccountNumber(), account.getAvailableBalance(), amount);
+            return new BusinessException("Insufficient funds");
+        }
+        return new BusinessException("Balance update rejected for account: " + account.getAccountNumber());
+    }
+}
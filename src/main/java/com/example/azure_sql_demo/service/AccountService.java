@@ -9,6 +9,7 @@ import com.example.azure_sql_demo.model.Account;
 import com.example.azure_sql_demo.model.User;
 import com.example.azure_sql_demo.repository.AccountRepository;
 import com.example.azure_sql_demo.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -25,12 +26,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = "app.service", histogram = true)
 public class AccountService {
 
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
     private final AccountMapper accountMapper;
     private final AuditService auditService;
+    private final AccountBalanceUpdater accountBalanceUpdater;
 
     /**
      * Creates a new account for the current authenticated user
@@ -151,13 +154,10 @@ public class AccountService {
         log.info("Depositing {} to account: {}", amount, accountNumber);
         
         validateDepositAmount(amount);
-        Account account = findAccountByNumber(accountNumber);
-        validateAccountForTransaction(account);
-        
-        BigDecimal oldBalance = account.getBalance();
-        account.credit(amount);
         
-        Account savedAccount = accountRepository.save(account);
+        // Single conditional UPDATE, which also returns the updated account for the response
+        Account savedAccount = accountBalanceUpdater.credit(accountNumber, amount);
+        BigDecimal oldBalance = savedAccount.getBalance().subtract(amount);
         log.info("Deposit successful. Balance updated from {} to {}", oldBalance, savedAccount.getBalance());
         
         // Audit log
@@ -174,17 +174,10 @@ public class AccountService {
         log.info("Withdrawing {} from account: {}", amount, accountNumber);
         
         validateWithdrawalAmount(amount);
-        Account account = findAccountByNumber(accountNumber);
-        validateAccountForTransaction(account);
         
-        if (!account.canDebit(amount)) {
-            throw new BusinessException("Insufficient funds for withdrawal");
-        }
-        
-        BigDecimal oldBalance = account.getBalance();
-        account.debit(amount);
-        
-        Account savedAccount = accountRepository.save(account);
+        // Single conditional UPDATE; the funds check is part of the WHERE clause
+        Account savedAccount = accountBalanceUpdater.debit(accountNumber, amount);
+        BigDecimal oldBalance = savedAccount.getBalance().add(amount);
         log.info("Withdrawal successful. Balance updated from {} to {}", oldBalance, savedAccount.getBalance());
         
         // Audit log
@@ -359,17 +352,4 @@ public class AccountService {
             throw new BusinessException("Withdrawal amount must be positive");
         }
     }
-
-    /**
-     * Validate account for transaction
-     */
-    private void validateAccountForTransaction(Account account) {
-        if (!account.getIsActive()) {
-            throw new BusinessException("Account is not active");
-        }
-        
-        if (account.getIsFrozen()) {
-            throw new BusinessException("Account is frozen");
-        }
-    }
 }
\ No newline at end of file
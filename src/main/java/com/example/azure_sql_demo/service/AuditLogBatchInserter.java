@@ -0,0 +1,104 @@
+// AuditLogBatchInserter.java - INSERTs em lote nas tabelas de auditoria
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.model.FinancialAuditLog;
+import com.example.azure_sql_demo.model.ProductAuditLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts audit entries into financial_audit_log / product_audit_log with JDBC batching.
+ * Runs in whatever transaction is active on the calling thread.
+ */
+@Component
+public class AuditLogBatchInserter {
+
+    private static final String INSERT_FINANCIAL_AUDIT_SQL =
+            "INSERT INTO financial_audit_log (account_id, account_number, transaction_id, action, " +
+            "old_values, new_values, amount, user_id, ip_address, user_agent, description, " +
+            "correlation_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PRODUCT_AUDIT_SQL =
+            "INSERT INTO product_audit_log (product_id, action, old_values, new_values, user_id, " +
+            "ip_address, user_agent, description, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public AuditLogBatchInserter(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.audit.writer.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Insert a mixed list of FinancialAuditLog / ProductAuditLog entries
+     */
+    public void insert(List<?> entries) {
+        List<FinancialAuditLog> financialLogs = new ArrayList<>();
+        List<ProductAuditLog> productLogs = new ArrayList<>();
+
+        for (Object entry : entries) {
+            if (entry instanceof FinancialAuditLog financialLog) {
+                financialLogs.add(financialLog);
+            } else if (entry instanceof ProductAuditLog productLog) {
+                productLogs.add(productLog);
+            }
+        }
+
+        if (!financialLogs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_FINANCIAL_AUDIT_SQL, financialLogs, batchSize,
+                    this::bindFinancialAuditLog);
+        }
+        if (!productLogs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_AUDIT_SQL, productLogs, batchSize,
+                    this::bindProductAuditLog);
+        }
+    }
+
+    private void bindFinancialAuditLog(PreparedStatement ps, FinancialAuditLog auditLog) throws SQLException {
+        bind(ps, 1, Types.BIGINT, auditLog.getAccountId());
+        bind(ps, 2, Types.VARCHAR, auditLog.getAccountNumber());
+        bind(ps, 3, Types.BIGINT, auditLog.getTransactionId());
+        bind(ps, 4, Types.VARCHAR, auditLog.getAction());
+        bind(ps, 5, Types.VARCHAR, auditLog.getOldValues());
+        bind(ps, 6, Types.VARCHAR, auditLog.getNewValues());
+        bind(ps, 7, Types.DECIMAL, auditLog.getAmount());
+        bind(ps, 8, Types.BIGINT, auditLog.getUserId());
+        bind(ps, 9, Types.VARCHAR, auditLog.getIpAddress());
+        bind(ps, 10, Types.VARCHAR, auditLog.getUserAgent());
+        bind(ps, 11, Types.VARCHAR, auditLog.getDescription());
+        bind(ps, 12, Types.VARCHAR, auditLog.getCorrelationId());
+        bind(ps, 13, Types.TIMESTAMP, toTimestamp(auditLog.getCreatedAt()));
+    }
+
+    private void bindProductAuditLog(PreparedStatement ps, ProductAuditLog auditLog) throws SQLException {
+        bind(ps, 1, Types.BIGINT, auditLog.getProductId());
+        bind(ps, 2, Types.VARCHAR, auditLog.getAction());
+        bind(ps, 3, Types.VARCHAR, auditLog.getOldValues());
+        bind(ps, 4, Types.VARCHAR, auditLog.getNewValues());
+        bind(ps, 5, Types.BIGINT, auditLog.getUserId());
+        bind(ps, 6, Types.VARCHAR, auditLog.getIpAddress());
+        bind(ps, 7, Types.VARCHAR, auditLog.getUserAgent());
+        bind(ps, 8, Types.VARCHAR, auditLog.getDescription());
+        bind(ps, 9, Types.TIMESTAMP, toTimestamp(auditLog.getCreatedAt()));
+    }
+
+    private void bind(PreparedStatement ps, int index, int sqlType, Object value) throws SQLException {
+        StatementCreatorUtils.setParameterValue(ps, index, sqlType, value);
+    }
+
+    private Timestamp toTimestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime != null ? dateTime : LocalDateTime.now());
+    }
+}
@@ -0,0 +1,360 @@
+// AuditLogWriter.java - Pipeline de escrita de auditoria
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.model.FinancialAuditLog;
+import com.example.azure_sql_demo.model.ProductAuditLog;
+import com.example.azure_sql_demo.repository.FinancialAuditLogRepository;
+import com.example.azure_sql_demo.repository.ProductAuditLogRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Writes audit log entries off the caller's critical path.
+ *
+ * In ASYNC mode entries are captured inside the business transaction, handed to a
+ * bounded in-memory buffer after commit and flushed with JDBC batch inserts by a
+ * dedicated writer thread. OUTBOX mode appends each entry to audit_outbox inside the
+ * business transaction and leaves the copy to {@link AuditOutbox}. SYNC mode keeps the
+ * original one-row-per-save behaviour.
+ *
+ * Write latency is published as audit.write{path} (sync, outbox, batch, overflow) and the
+ * buffer depth as audit.buffer.pending.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    public enum Mode {
+        SYNC,
+        ASYNC,
+        OUTBOX
+    }
+
+    public enum Durability {
+        /** Write synchronously when the buffer cannot take the entries */
+        STRICT,
+        /** Drop entries (with an error log) when the buffer stays full */
+        BEST_EFFORT
+    }
+
+    private final FinancialAuditLogRepository financialAuditLogRepository;
+    private final ProductAuditLogRepository productAuditLogRepository;
+    private final AuditLogBatchInserter batchInserter;
+    private final AuditOutbox auditOutbox;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate fallbackTransaction;
+
+    private final Mode mode;
+    private final Durability durability;
+    private final int batchSize;
+    private final long lingerMs;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<Object> buffer;
+
+    private final Timer syncWrite;
+    private final Timer outboxWrite;
+    private final Timer batchWrite;
+    private final Timer overflowWrite;
+
+    private final boolean virtualThreads;
+
+    private volatile boolean running;
+    private Future<?> writerTask;
+
+    public AuditLogWriter(FinancialAuditLogRepository financialAuditLogRepository,
+                          ProductAuditLogRepository productAuditLogRepository,
+                          AuditLogBatchInserter batchInserter,
+                          AuditOutbox auditOutbox,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          Environment environment,
+                          @Value("${app.audit.writer.mode:ASYNC}") Mode mode,
+                          @Value("${app.audit.writer.durability:STRICT}") Durability durability,
+                          @Value("${app.audit.writer.buffer-capacity:10000}") int bufferCapacity,
+                          @Value("${app.audit.writer.batch-size:200}") int batchSize,
+                          @Value("${app.audit.writer.linger-ms:50}") long lingerMs,
+                          @Value("${app.audit.writer.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.financialAuditLogRepository = financialAuditLogRepository;
+        this.productAuditLogRepository = productAuditLogRepository;
+        this.batchInserter = batchInserter;
+        this.auditOutbox = auditOutbox;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.fallbackTransaction = new TransactionTemplate(transactionManager);
+        this.fallbackTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mode = mode;
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+
+        this.syncWrite = writeTimer(meterRegistry, "sync");
+        this.outboxWrite = writeTimer(meterRegistry, "outbox");
+        this.batchWrite = writeTimer(meterRegistry, "batch");
+        this.overflowWrite = writeTimer(meterRegistry, "overflow");
+        Gauge.builder("audit.buffer.pending", buffer, BlockingQueue::size)
+                .description("Audit entries waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    private static Timer writeTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("audit.write")
+                .description("Audit log write latency")
+                .tag("path", path)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (mode != Mode.ASYNC) {
+            log.info("Audit log writer running in {} mode", mode);
+            return;
+        }
+
+        // Virtual thread when spring.threads.virtual.enabled is active on Java 21+
+        SimpleAsyncTaskExecutor threads = new SimpleAsyncTaskExecutor("audit-writer-");
+        threads.setVirtualThreads(virtualThreads);
+        threads.setDaemon(true);
+
+        running = true;
+        writerTask = threads.submit(this::runWriterLoop);
+        log.info("Audit log writer started (capacity: {}, batch size: {}, linger: {}ms, durability: {}, virtual: {})",
+                buffer.remainingCapacity(), batchSize, lingerMs, durability, virtualThreads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writerTask == null) {
+            return;
+        }
+
+        running = false;
+        try {
+            writerTask.get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Audit writer did not stop cleanly: {}", e.getMessage());
+        }
+
+        if (!buffer.isEmpty()) {
+            log.warn("Flushing {} pending audit entries on shutdown", buffer.size());
+            List<Object> remaining = new ArrayList<>();
+            buffer.drainTo(remaining);
+            flush(remaining);
+        }
+        log.info("Audit log writer stopped");
+    }
+
+    // ========== PUBLIC API ==========
+
+    /**
+     * Write a financial audit entry
+     */
+    public void write(FinancialAuditLog auditLog) {
+        submit(auditLog);
+    }
+
+    /**
+     * Write a product audit entry
+     */
+    public void write(ProductAuditLog auditLog) {
+        submit(auditLog);
+    }
+
+    /**
+     * Number of entries waiting to be flushed
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    // ========== CAPTURE ==========
+
+    private void submit(Object entry) {
+        if (mode == Mode.SYNC) {
+            syncWrite.record(() -> saveWithRepository(entry));
+            return;
+        }
+
+        if (mode == Mode.OUTBOX) {
+            outboxWrite.record(() -> auditOutbox.append(entry));
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            captureInTransaction(entry);
+        } else {
+            enqueue(List.of(entry));
+        }
+    }
+
+    /**
+     * Collect entries for the current transaction; they are only published once it commits
+     */
+    private void captureInTransaction(Object entry) {
+        TransactionAuditEntries pending =
+                (TransactionAuditEntries) TransactionSynchronizationManager.getResource(this);
+
+        if (pending == null) {
+            pending = new TransactionAuditEntries();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+
+        pending.entries.add(entry);
+    }
+
+    private void enqueue(List<Object> entries) {
+        List<Object> overflow = new ArrayList<>();
+
+        for (Object entry : entries) {
+            if (!offer(entry)) {
+                overflow.add(entry);
+            }
+        }
+
+        if (overflow.isEmpty()) {
+            return;
+        }
+
+        if (durability == Durability.STRICT) {
+            log.warn("Audit buffer full, writing {} entries synchronously", overflow.size());
+            overflowWrite.record(() -> fallbackTransaction.executeWithoutResult(status -> batchInserter.insert(overflow)));
+        } else {
+            log.error("Audit buffer full, dropping {} audit entries", overflow.size());
+        }
+    }
+
+    private boolean offer(Object entry) {
+        try {
+            return buffer.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // ========== WRITER THREAD ==========
+
+    private void runWriterLoop() {
+        List<Object> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                Object first = buffer.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Object next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            batchWrite.record(() -> writeTransaction.executeWithoutResult(status -> batchInserter.insert(batch)));
+            log.debug("Flushed {} audit entries", batch.size());
+        } catch (Exception e) {
+            log.error("Batch audit write failed for {} entries, retrying one by one: {}",
+                    batch.size(), e.getMessage());
+            for (Object entry : batch) {
+                try {
+                    writeTransaction.executeWithoutResult(status -> batchInserter.insert(List.of(entry)));
+                } catch (Exception ex) {
+                    log.error("Audit entry lost: {}", entry, ex);
+                }
+            }
+        }
+    }
+
+    private void saveWithRepository(Object entry) {
+        if (entry instanceof FinancialAuditLog financialLog) {
+            financialAuditLogRepository.save(financialLog);
+        } else if (entry instanceof ProductAuditLog productLog) {
+            productAuditLogRepository.save(productLog);
+        }
+    }
+
+    // ========== TRANSACTION BINDING ==========
+
+    /**
+     * Audit entries captured during one transaction
+     */
+    private class TransactionAuditEntries implements TransactionSynchronization {
+
+        private final List<Object> entries = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Buffer saturated: keep the entries durable by writing them with the business transaction
+            if (durability == Durability.STRICT && buffer.remainingCapacity() < entries.size()) {
+                log.warn("Audit buffer saturated, writing {} entries inside the transaction", entries.size());
+                batchInserter.insert(entries);
+                entries.clear();
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!entries.isEmpty()) {
+                enqueue(new ArrayList<>(entries));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogWriter.this);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+// AuditOutbox.java - Outbox transacional de auditoria
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.model.AuditOutboxCheckpoint;
+import com.example.azure_sql_demo.model.AuditOutboxDeadLetter;
+import com.example.azure_sql_demo.model.AuditOutboxEvent;
+import com.example.azure_sql_demo.model.FinancialAuditLog;
+import com.example.azure_sql_demo.model.ProductAuditLog;
+import com.example.azure_sql_demo.repository.AuditOutboxCheckpointRepository;
+import com.example.azure_sql_demo.repository.AuditOutboxDeadLetterRepository;
+import com.example.azure_sql_demo.repository.AuditOutboxEventRepository;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox for audit entries.
+ *
+ * append() stores one compact row in audit_outbox inside the caller's transaction, so the
+ * audit record commits or rolls back together with the business change. relay() drains the
+ * outbox into the audit tables in batches, oldest first; the copy, the checkpoint update and the
+ * delete of the relayed rows share one transaction, so a crash never replays or loses an entry.
+ * A row whose payload cannot be read is moved to audit_outbox_dead_letter in that same
+ * transaction, so it cannot stay at the head and stall the relay.
+ */
+@Component
+@Slf4j
+public class AuditOutbox {
+
+    private static final String RELAY_NAME = "audit-log";
+
+    private final AuditOutboxEventRepository outboxEventRepository;
+    private final AuditOutboxCheckpointRepository checkpointRepository;
+    private final AuditOutboxDeadLetterRepository deadLetterRepository;
+    private final AuditLogBatchInserter batchInserter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate relayTransaction;
+
+    private final boolean relayEnabled;
+    private final int relayBatchSize;
+    private final int maxBatchesPerRun;
+
+    public AuditOutbox(AuditOutboxEventRepository outboxEventRepository,
+                       AuditOutboxCheckpointRepository checkpointRepository,
+                       AuditOutboxDeadLetterRepository deadLetterRepository,
+                       AuditLogBatchInserter batchInserter,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.audit.outbox.relay-enabled:true}") boolean relayEnabled,
+                       @Value("${app.audit.outbox.relay-batch-size:500}") int relayBatchSize,
+                       @Value("${app.audit.outbox.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.batchInserter = batchInserter;
+        this.objectMapper = objectMapper;
+        this.relayTransaction = new TransactionTemplate(transactionManager);
+        this.relayEnabled = relayEnabled;
+        this.relayBatchSize = relayBatchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    // ========== APPEND ==========
+
+    /**
+     * Append an audit entry to the outbox in the current transaction.
+     * Serialization failures are rethrown so the business transaction does not commit without its audit row.
+     */
+    public void append(Object entry) {
+        AuditOutboxEvent.LogType logType;
+        OutboxPayload payload;
+
+        if (entry instanceof FinancialAuditLog financialLog) {
+            logType = AuditOutboxEvent.LogType.FINANCIAL;
+            payload = fromFinancialLog(financialLog);
+        } else if (entry instanceof ProductAuditLog productLog) {
+            logType = AuditOutboxEvent.LogType.PRODUCT;
+            payload = fromProductLog(productLog);
+        } else {
+            throw new IllegalArgumentException("Unsupported audit entry: " + entry);
+        }
+
+        if (payload.getCreatedAt() == null) {
+            payload.setCreatedAt(LocalDateTime.now());
+        }
+
+        try {
+            outboxEventRepository.save(AuditOutboxEvent.builder()
+                    .logType(logType)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(payload.getCreatedAt())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize audit entry for the outbox", e);
+        }
+    }
+
+    // ========== RELAY ==========
+
+    /**
+     * Drain pending outbox rows into the audit tables
+     */
+    @Scheduled(fixedDelayString = "${app.audit.outbox.relay-interval-ms:1000}",
+               initialDelayString = "${app.audit.outbox.relay-initial-delay-ms:5000}")
+    public void relay() {
+        if (!relayEnabled) {
+            return;
+        }
+
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer relayed = relayTransaction.execute(status -> relayBatch());
+                if (relayed == null || relayed < relayBatchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Audit outbox relay failed, will retry on next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Number of audit entries waiting in the outbox
+     */
+    public long getPendingCount() {
+        return outboxEventRepository.count();
+    }
+
+    private int relayBatch() {
+        AuditOutboxCheckpoint checkpoint = checkpointRepository.findByRelayNameForUpdate(RELAY_NAME)
+                .orElseGet(this::createCheckpoint);
+
+        // Rows are deleted once relayed, so the head is always the oldest pending row; a
+        // resume position ("id > last relayed id") would skip rows whose transaction committed
+        // after a higher id was already relayed
+        List<AuditOutboxEvent> events =
+                outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, relayBatchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> entries = new ArrayList<>(events.size());
+        List<AuditOutboxDeadLetter> deadLetters = new ArrayList<>();
+        for (AuditOutboxEvent event : events) {
+            try {
+                entries.add(toAuditLog(event));
+            } catch (JsonProcessingException e) {
+                log.error("Moving unreadable audit outbox event {} to the dead-letter table: {}",
+                        event.getId(), e.getMessage());
+                deadLetters.add(toDeadLetter(event, e));
+            }
+        }
+
+        batchInserter.insert(entries);
+        deadLetterRepository.saveAll(deadLetters);
+        outboxEventRepository.deleteAllInBatch(events);
+
+        checkpoint.setRelayedCount(checkpoint.getRelayedCount() + entries.size());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+
+        log.debug("Relayed {} audit outbox events (total: {}, dead letters: {})",
+                entries.size(), checkpoint.getRelayedCount(), deadLetters.size());
+        return events.size();
+    }
+
+    private AuditOutboxCheckpoint createCheckpoint() {
+        return checkpointRepository.saveAndFlush(AuditOutboxCheckpoint.builder()
+                .relayName(RELAY_NAME)
+                .relayedCount(0L)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private AuditOutboxDeadLetter toDeadLetter(AuditOutboxEvent event, JsonProcessingException e) {
+        String error = e.getOriginalMessage();
+        return AuditOutboxDeadLetter.builder()
+                .eventId(event.getId())
+                .logType(event.getLogType())
+                .payload(event.getPayload())
+                .error(error != null && error.length() > 1000 ? error.substring(0, 1000) : error)
+                .createdAt(event.getCreatedAt())
+                .failedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // ========== PAYLOAD MAPPING ==========
+
+    private OutboxPayload fromFinancialLog(FinancialAuditLog auditLog) {
+        return OutboxPayload.builder()
+                .accountId(auditLog.getAccountId())
+                .accountNumber(auditLog.getAccountNumber())
+                .transactionId(auditLog.getTransactionId())
+                .action(auditLog.getAction())
+                .oldValues(auditLog.getOldValues())
+                .newValues(auditLog.getNewValues())
+                .amount(auditLog.getAmount())
+                .userId(auditLog.getUserId())
+                .ipAddress(auditLog.getIpAddress())
+                .userAgent(auditLog.getUserAgent())
+                .description(auditLog.getDescription())
+                .correlationId(auditLog.getCorrelationId())
+                .createdAt(auditLog.getCreatedAt())
+                .build();
+    }
+
+    private OutboxPayload fromProductLog(ProductAuditLog auditLog) {
+        return OutboxPayload.builder()
+                .productId(auditLog.getProductId())
+                .action(auditLog.getAction())
+                .oldValues(auditLog.getOldValues())
+                .newValues(auditLog.getNewValues())
+                .userId(auditLog.getUserId())
+                .ipAddress(auditLog.getIpAddress())
+                .userAgent(auditLog.getUserAgent())
+                .description(auditLog.getDescription())
+                .createdAt(auditLog.getCreatedAt())
+                .build();
+    }
+
+    private Object toAuditLog(AuditOutboxEvent event) throws JsonProcessingException {
+        OutboxPayload payload = objectMapper.readValue(event.getPayload(), OutboxPayload.class);
+
+        if (event.getLogType() == AuditOutboxEvent.LogType.PRODUCT) {
+            return ProductAuditLog.builder()
+                    .productId(payload.getProductId())
+                    .action(payload.getAction())
+                    .oldValues(payload.getOldValues())
+                    .newValues(payload.getNewValues())
+                    .userId(payload.getUserId())
+                    .ipAddress(payload.getIpAddress())
+                    .userAgent(payload.getUserAgent())
+                    .description(payload.getDescription())
+                    .createdAt(payload.getCreatedAt())
+                    .build();
+        }
+
+        return FinancialAuditLog.builder()
+                .accountId(payload.getAccountId())
+                .accountNumber(payload.getAccountNumber())
+                .transactionId(payload.getTransactionId())
+                .action(payload.getAction())
+                .oldValues(payload.getOldValues())
+                .newValues(payload.getNewValues())
+                .amount(payload.getAmount())
+                .userId(payload.getUserId())
+                .ipAddress(payload.getIpAddress())
+                .userAgent(payload.getUserAgent())
+                .description(payload.getDescription())
+                .correlationId(payload.getCorrelationId())
+                .createdAt(payload.getCreatedAt())
+                .build();
+    }
+
+    // ========== HELPER CLASSES ==========
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class OutboxPayload {
+        private Long accountId;
+        private String accountNumber;
+        private Long transactionId;
+        private Long productId;
+        private String action;
+        private String oldValues;
+        private String newValues;
+        private BigDecimal amount;
+        private Long userId;
+        private String ipAddress;
+        private String userAgent;
+        private String description;
+        private String correlationId;
+        private LocalDateTime createdAt;
+    }
+}
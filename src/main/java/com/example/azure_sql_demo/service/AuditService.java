@@ -2,8 +2,6 @@
 package com.example.azure_sql_demo.service;
 
 import com.example.azure_sql_demo.model.*;
-import com.example.azure_sql_demo.repository.FinancialAuditLogRepository;
-import com.example.azure_sql_demo.repository.ProductAuditLogRepository;
 import com.example.azure_sql_demo.security.UserDetailsImpl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,8 +21,7 @@ import java.time.LocalDateTime;
 @Transactional
 public class AuditService {
 
-    private final ProductAuditLogRepository productAuditLogRepository;
-    private final FinancialAuditLogRepository financialAuditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final ObjectMapper objectMapper;
 
     // ========== PRODUCT AUDIT METHODS ==========
@@ -47,7 +44,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            productAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Product creation logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -74,7 +71,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            productAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Product update logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -100,7 +97,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            productAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Product deletion logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -126,7 +123,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            productAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Product activation logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -152,7 +149,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            productAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Product deactivation logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -187,7 +184,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            productAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Stock update logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -216,7 +213,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            financialAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Account creation logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -253,7 +250,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            financialAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Account deposit logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -290,7 +287,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            financialAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Account withdrawal logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -317,7 +314,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            financialAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Account activation logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -344,7 +341,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            financialAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Account deactivation logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -375,7 +372,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            financialAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Financial transaction logged successfully");
             
         } catch (JsonProcessingException e) {
@@ -414,7 +411,7 @@ public class AuditService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            financialAuditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
             log.debug("Transaction status change logged successfully");
             
         } catch (JsonProcessingException e) {
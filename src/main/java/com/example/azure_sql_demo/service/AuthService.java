@@ -10,6 +10,11 @@ import com.example.azure_sql_demo.model.User;
 import com.example.azure_sql_demo.repository.RoleRepository;
 import com.example.azure_sql_demo.repository.UserRepository;
 import com.example.azure_sql_demo.security.JwtTokenUtil;
+import com.example.azure_sql_demo.security.PasswordHashingExecutor;
+import com.example.azure_sql_demo.security.TokenRevocationService;
+import com.example.azure_sql_demo.security.UserDetailsImpl;
+import com.example.azure_sql_demo.security.UserStatusService;
+import com.example.azure_sql_demo.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,9 +22,11 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -39,46 +46,40 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenUtil jwtTokenUtil;
     private final UserMapper userMapper;
+    private final UserStatusService userStatusService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     /**
-     * Authenticate user and return JWT token
+     * Authenticate user and return JWT token.
+     * Runs outside any transaction so no connection is held while the password is hashed.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse authenticate(AuthRequest request) {
         log.info("Authenticating user: {}", request.getUsername());
         
         try {
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getUsername(),
-                            request.getPassword()
-                    )
-            );
+            // Authenticate user (hashing no pool limitado; 429 quando saturado)
+            Authentication authentication = passwordHashingExecutor.call(() ->
+                    authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    request.getUsername(),
+                                    request.getPassword()
+                            )
+                    ));
 
-            // Get user details
-            User user = userRepository.findByUsernameOrEmail(request.getUsername())
-                    .orElseThrow(() -> new BusinessException("User not found"));
+            // Reaproveita o usuário carregado na autenticação
+            UserDetailsImpl user = (UserDetailsImpl) authentication.getPrincipal();
 
             // Update last login
-            user.setLastLogin(LocalDateTime.now());
-            user.setFailedLoginAttempts(0);
-            userRepository.save(user);
+            userRepository.recordSuccessfulLogin(user.getId(), LocalDateTime.now());
 
-            // Generate JWT token with authorities
-            org.springframework.security.core.userdetails.UserDetails userDetails = 
-                org.springframework.security.core.userdetails.User.builder()
-                    .username(user.getUsername())
-                    .password(user.getPassword())
-                    .authorities(user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority(role.getName()))
-                        .collect(Collectors.toList()))
-                    .build();
-
-            String token = jwtTokenUtil.generateToken(userDetails);
+            String token = jwtTokenUtil.generateToken(user, user.getId());
 
             // Get user roles as Set<String>
-            Set<String> roles = user.getRoles().stream()
-                    .map(Role::getName)
+            Set<String> roles = user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
                     .collect(Collectors.toSet());
 
             log.info("User authenticated successfully: {}", user.getUsername());
@@ -108,6 +109,7 @@ public class AuthService {
                         }
                         
                         userRepository.save(user);
+                        userStatusService.evict(user.getId());
                     });
             
             throw new BadCredentialsException("Invalid username or password");
@@ -140,7 +142,7 @@ public class AuthService {
         User user = userMapper.toEntity(request);
         
         // Encode password
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingExecutor.call(() -> passwordEncoder.encode(request.getPassword())));
         
         // Set default role
         Role defaultRole = roleRepository.findByName("USER")
@@ -162,7 +164,7 @@ public class AuthService {
                     .collect(Collectors.toList()))
                 .build();
 
-        String token = jwtTokenUtil.generateToken(userDetails);
+        String token = jwtTokenUtil.generateToken(userDetails, savedUser.getId());
         
         // Get user roles as Set<String>
         Set<String> roles = savedUser.getRoles().stream()
@@ -187,8 +189,11 @@ public class AuthService {
         log.info("Refreshing JWT token");
         
         try {
-            // Extract username from token
-            String username = jwtTokenUtil.getUsernameFromToken(token);
+            // Extract username from token (revoked tokens cannot be refreshed)
+            VerifiedToken verifiedToken = jwtTokenUtil.verify(stripBearer(token))
+                    .filter(verified -> !tokenRevocationService.isRevoked(verified.jti()))
+                    .orElseThrow(() -> new BusinessException("Invalid or expired token"));
+            String username = verifiedToken.username();
             
             // Get user
             User user = userRepository.findByUsername(username)
@@ -209,7 +214,7 @@ public class AuthService {
                         .collect(Collectors.toList()))
                     .build();
 
-            String newToken = jwtTokenUtil.generateToken(userDetails);
+            String newToken = jwtTokenUtil.generateToken(userDetails, user.getId());
             
             // Get user roles as Set<String>
             Set<String> roles = user.getRoles().stream()
@@ -265,12 +270,19 @@ public class AuthService {
     }
 
     /**
-     * Logout user (invalidate token on client side)
+     * Logout user: revoke the token until it expires
      */
-    public void logout(String username) {
-        log.info("User logged out: {}", username);
-        // In a real application, you might want to blacklist the token
-        // or store logout time for additional security
+    @Transactional
+    public void logout(String token) {
+        VerifiedToken verifiedToken = jwtTokenUtil.verify(stripBearer(token))
+                .orElseThrow(() -> new BusinessException("Invalid or expired token"));
+
+        tokenRevocationService.revoke(verifiedToken.jti(), verifiedToken.expiresAt());
+        log.info("User logged out: {}", verifiedToken.username());
+    }
+
+    private String stripBearer(String token) {
+        return token != null && token.startsWith("Bearer ") ? token.substring(7) : token;
     }
 
     /**
@@ -283,11 +295,12 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new BusinessException("User not found with email: " + email));
         
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingExecutor.call(() -> passwordEncoder.encode(newPassword)));
         user.setFailedLoginAttempts(0);
         user.setIsAccountNonLocked(true);
         
         userRepository.save(user);
+        userStatusService.evict(user.getId());
         log.info("Password reset successfully for user: {}", user.getUsername());
     }
 
@@ -302,12 +315,12 @@ public class AuthService {
                 .orElseThrow(() -> new BusinessException("User not found"));
         
         // Verify current password
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordHashingExecutor.call(() -> passwordEncoder.matches(currentPassword, user.getPassword()))) {
             throw new BusinessException("Current password is incorrect");
         }
         
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingExecutor.call(() -> passwordEncoder.encode(newPassword)));
         userRepository.save(user);
         
         log.info("Password changed successfully for user: {}", username);
@@ -326,6 +339,7 @@ public class AuthService {
         user.setIsAccountNonLocked(true);
         user.setFailedLoginAttempts(0);
         userRepository.save(user);
+        userStatusService.evict(user.getId());
         
         log.info("Account unlocked successfully for user: {}", username);
     }
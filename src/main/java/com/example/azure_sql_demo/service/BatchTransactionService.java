@@ -0,0 +1,428 @@
+// BatchTransactionService.java - Ingestão de transações em lote
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.dto.BatchTransactionItemResult;
+import com.example.azure_sql_demo.dto.BatchTransactionResponse;
+import com.example.azure_sql_demo.dto.CreateTransactionRequest;
+import com.example.azure_sql_demo.model.Account;
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import com.example.azure_sql_demo.repository.AccountRepository;
+import com.example.azure_sql_demo.repository.FinancialTransactionRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk ingestion of financial transactions.
+ *
+ * The payload (JSON array or NDJSON) is read as a stream and processed in chunks. Each chunk
+ * runs in its own transaction: all referenced accounts are loaded and row-locked with one IN
+ * query, items are checked against running balances in memory, and the resulting per-account
+ * deltas and transaction rows are written with JDBC batches. Items that fail validation or
+ * business rules are rejected individually without affecting the rest of the chunk.
+ */
+@Service
+@Slf4j
+public class BatchTransactionService {
+
+    /** Keeps IN lists (two account numbers per item) under SQL Server's 2100 parameter limit */
+    private static final int MAX_CHUNK_SIZE = 1000;
+
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1, updated_at = ? WHERE id = ?";
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO financial_transactions (transaction_type, amount, description, reference_number, " +
+            "status, processed_at, from_account_id, to_account_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final AccountRepository accountRepository;
+    private final FinancialTransactionRepository transactionRepository;
+    private final AuditService auditService;
+    private final TransactionRetryExecutor retryExecutor;
+    private final TransactionMetrics transactionMetrics;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private final int chunkSize;
+    private final int maxItems;
+
+    public BatchTransactionService(AccountRepository accountRepository,
+                                   FinancialTransactionRepository transactionRepository,
+                                   AuditService auditService,
+                                   TransactionRetryExecutor retryExecutor,
+                                   TransactionMetrics transactionMetrics,
+                                   JdbcTemplate jdbcTemplate,
+                                   EntityManager entityManager,
+                                   ObjectMapper objectMapper,
+                                   Validator validator,
+                                   @Value("${app.transactions.batch.chunk-size:500}") int chunkSize,
+                                   @Value("${app.transactions.batch.max-items:500000}") int maxItems) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.auditService = auditService;
+        this.retryExecutor = retryExecutor;
+        this.transactionMetrics = transactionMetrics;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Read transactions from a JSON array or NDJSON stream and process them chunk by chunk
+     */
+    public BatchTransactionResponse processBatch(InputStream body) throws IOException {
+        long start = System.currentTimeMillis();
+        List<BatchTransactionItemResult> results = new ArrayList<>();
+        List<BatchItem> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<CreateTransactionRequest> items =
+                     objectMapper.readerFor(CreateTransactionRequest.class).readValues(body)) {
+            while (true) {
+                CreateTransactionRequest request;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    request = items.nextValue();
+                } catch (JsonParseException e) {
+                    // The stream cannot be resynchronized after a syntax error
+                    results.add(rejected(index, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    results.add(rejected(index++, "Invalid item: " + e.getOriginalMessage()));
+                    continue;
+                }
+
+                if (index >= maxItems) {
+                    results.add(rejected(index, "Batch exceeds the maximum of " + maxItems + " items"));
+                    break;
+                }
+
+                String error = validateItem(request);
+                if (error != null) {
+                    results.add(rejected(index, error));
+                } else {
+                    chunk.add(new BatchItem(index, request));
+                }
+                index++;
+
+                if (chunk.size() >= chunkSize) {
+                    results.addAll(processChunk(chunk));
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            results.addAll(processChunk(chunk));
+        }
+
+        results.sort(Comparator.comparing(BatchTransactionItemResult::getIndex));
+        int succeeded = (int) results.stream()
+                .filter(result -> FinancialTransaction.TransactionStatus.COMPLETED.name().equals(result.getStatus()))
+                .count();
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Batch processed: {} items, {} succeeded, {} failed in {}ms",
+                results.size(), succeeded, results.size() - succeeded, duration);
+
+        return BatchTransactionResponse.builder()
+                .totalItems(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .durationMs(duration)
+                .results(results)
+                .build();
+    }
+
+    // ========== CHUNK PROCESSING ==========
+
+    private List<BatchTransactionItemResult> processChunk(List<BatchItem> chunk) {
+        List<BatchItem> items = List.copyOf(chunk);
+        try {
+            return retryExecutor.execute("batchChunk", () -> applyChunk(items));
+        } catch (RuntimeException e) {
+            // The chunk transaction rolled back: report every item of the chunk, keep going with the next one
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.error("Batch chunk of {} items failed: {}", items.size(), cause, e);
+            return items.stream()
+                    .map(item -> rejected(item.index(), "Chunk failed: " + cause))
+                    .toList();
+        }
+    }
+
+    private List<BatchTransactionItemResult> applyChunk(List<BatchItem> items) {
+        // The persistence context may outlive the chunk transaction (open-in-view); drop
+        // account state loaded by a previous chunk so balances are read under the new locks
+        entityManager.clear();
+
+        Set<String> accountNumbers = new HashSet<>();
+        for (BatchItem item : items) {
+            accountNumbers.add(item.request().getFromAccountNumber());
+            if (item.request().getToAccountNumber() != null) {
+                accountNumbers.add(item.request().getToAccountNumber());
+            }
+        }
+
+        Map<String, Account> accounts = accountRepository.findByAccountNumbersForUpdate(accountNumbers).stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        Map<Long, BigDecimal> available = new HashMap<>();
+        Map<Long, BigDecimal> deltas = new LinkedHashMap<>();
+        List<BatchTransactionItemResult> results = new ArrayList<>(items.size());
+        List<BatchItem> acceptedItems = new ArrayList<>();
+        List<FinancialTransaction> accepted = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (BatchItem item : items) {
+            String error = applyItem(item.request(), accounts, available, deltas);
+            if (error != null) {
+                results.add(rejected(item.index(), error));
+                continue;
+            }
+
+            CreateTransactionRequest request = item.request();
+            acceptedItems.add(item);
+            accepted.add(FinancialTransaction.builder()
+                    .transactionType(request.getTransactionType())
+                    .amount(request.getAmount())
+                    .description(request.getDescription())
+                    .referenceNumber(TransactionReferenceGenerator.generate(request.getTransactionType()))
+                    .status(FinancialTransaction.TransactionStatus.COMPLETED)
+                    .processedAt(now)
+                    .fromAccount(accounts.get(request.getFromAccountNumber()))
+                    .toAccount(request.getToAccountNumber() != null ? accounts.get(request.getToAccountNumber()) : null)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        writeBalanceDeltas(deltas, now);
+        writeTransactions(accepted);
+        assignGeneratedIds(accepted);
+
+        for (int i = 0; i < accepted.size(); i++) {
+            FinancialTransaction transaction = accepted.get(i);
+            auditService.logFinancialTransaction(transaction);
+            results.add(BatchTransactionItemResult.builder()
+                    .index(acceptedItems.get(i).index())
+                    .status(transaction.getStatus().name())
+                    .transactionId(transaction.getId())
+                    .referenceNumber(transaction.getReferenceNumber())
+                    .build());
+        }
+        accepted.stream()
+                .collect(Collectors.groupingBy(FinancialTransaction::getTransactionType, Collectors.counting()))
+                .forEach(transactionMetrics::recordCompleted);
+
+        log.debug("Chunk applied: {} accepted, {} rejected, {} accounts updated",
+                accepted.size(), items.size() - accepted.size(), deltas.size());
+        return results;
+    }
+
+    /**
+     * Check an item against the running balances and record its deltas; returns an error message or null
+     */
+    private String applyItem(CreateTransactionRequest request, Map<String, Account> accounts,
+                             Map<Long, BigDecimal> available, Map<Long, BigDecimal> deltas) {
+        Account fromAccount = accounts.get(request.getFromAccountNumber());
+        if (fromAccount == null) {
+            return "Account not found: " + request.getFromAccountNumber();
+        }
+
+        Account toAccount = null;
+        if (request.getToAccountNumber() != null) {
+            toAccount = accounts.get(request.getToAccountNumber());
+            if (toAccount == null) {
+                return "Account not found: " + request.getToAccountNumber();
+            }
+        }
+
+        BigDecimal amount = request.getAmount();
+        switch (request.getTransactionType()) {
+            case DEPOSIT -> {
+                String error = checkUsable(fromAccount, "Account");
+                if (error != null) {
+                    return error;
+                }
+                addDelta(fromAccount, amount, available, deltas);
+            }
+            case WITHDRAWAL, PAYMENT -> {
+                String error = checkUsable(fromAccount, "Account");
+                if (error != null) {
+                    return error;
+                }
+                if (availableBalance(fromAccount, available).compareTo(amount) < 0) {
+                    return "Insufficient funds";
+                }
+                addDelta(fromAccount, amount.negate(), available, deltas);
+            }
+            case TRANSFER -> {
+                String error = checkUsable(fromAccount, "Source account");
+                if (error == null) {
+                    error = checkUsable(toAccount, "Destination account");
+                }
+                if (error != null) {
+                    return error;
+                }
+                if (availableBalance(fromAccount, available).compareTo(amount) < 0) {
+                    return "Insufficient funds in source account";
+                }
+                addDelta(fromAccount, amount.negate(), available, deltas);
+                addDelta(toAccount, amount, available, deltas);
+            }
+            default -> {
+                return "Unsupported transaction type: " + request.getTransactionType();
+            }
+        }
+        return null;
+    }
+
+    private String checkUsable(Account account, String label) {
+        if (!account.getIsActive()) {
+            return label + " is not active";
+        }
+        if (account.getIsFrozen()) {
+            return label + " is frozen";
+        }
+        return null;
+    }
+
+    private BigDecimal availableBalance(Account account, Map<Long, BigDecimal> available) {
+        return available.computeIfAbsent(account.getId(), id -> account.getAvailableBalance());
+    }
+
+    private void addDelta(Account account, BigDecimal delta,
+                          Map<Long, BigDecimal> available, Map<Long, BigDecimal> deltas) {
+        available.put(account.getId(), availableBalance(account, available).add(delta));
+        deltas.merge(account.getId(), delta, BigDecimal::add);
+    }
+
+    // ========== JDBC WRITES ==========
+
+    private void writeBalanceDeltas(Map<Long, BigDecimal> deltas, LocalDateTime now) {
+        List<Map.Entry<Long, BigDecimal>> changes = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, changes, chunkSize, (ps, change) -> {
+            StatementCreatorUtils.setParameterValue(ps, 1, Types.DECIMAL, change.getValue());
+            StatementCreatorUtils.setParameterValue(ps, 2, Types.TIMESTAMP, updatedAt);
+            StatementCreatorUtils.setParameterValue(ps, 3, Types.BIGINT, change.getKey());
+        });
+    }
+
+    private void writeTransactions(List<FinancialTransaction> transactions) {
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, transactions, chunkSize, this::bindTransaction);
+    }
+
+    private void bindTransaction(PreparedStatement ps, FinancialTransaction transaction) throws SQLException {
+        StatementCreatorUtils.setParameterValue(ps, 1, Types.VARCHAR, transaction.getTransactionType().name());
+        StatementCreatorUtils.setParameterValue(ps, 2, Types.DECIMAL, transaction.getAmount());
+        StatementCreatorUtils.setParameterValue(ps, 3, Types.VARCHAR, transaction.getDescription());
+        StatementCreatorUtils.setParameterValue(ps, 4, Types.VARCHAR, transaction.getReferenceNumber());
+        StatementCreatorUtils.setParameterValue(ps, 5, Types.VARCHAR, transaction.getStatus().name());
+        StatementCreatorUtils.setParameterValue(ps, 6, Types.TIMESTAMP, Timestamp.valueOf(transaction.getProcessedAt()));
+        StatementCreatorUtils.setParameterValue(ps, 7, Types.BIGINT, transaction.getFromAccount().getId());
+        StatementCreatorUtils.setParameterValue(ps, 8, Types.BIGINT,
+                transaction.getToAccount() != null ? transaction.getToAccount().getId() : null);
+        StatementCreatorUtils.setParameterValue(ps, 9, Types.TIMESTAMP, Timestamp.valueOf(transaction.getCreatedAt()));
+        StatementCreatorUtils.setParameterValue(ps, 10, Types.TIMESTAMP, Timestamp.valueOf(transaction.getUpdatedAt()));
+    }
+
+    /**
+     * Fetch identity values for the inserted rows with one IN query on the reference numbers
+     */
+    private void assignGeneratedIds(List<FinancialTransaction> transactions) {
+        Map<String, FinancialTransaction> byReference = transactions.stream()
+                .collect(Collectors.toMap(FinancialTransaction::getReferenceNumber, Function.identity()));
+
+        for (Object[] row : transactionRepository.findIdsByReferenceNumbers(byReference.keySet())) {
+            FinancialTransaction transaction = byReference.get((String) row[1]);
+            if (transaction != null) {
+                transaction.setId((Long) row[0]);
+            }
+        }
+    }
+
+    // ========== VALIDATION ==========
+
+    private String validateItem(CreateTransactionRequest request) {
+        if (request == null) {
+            return "Item is empty";
+        }
+
+        Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+
+        if (request.getTransactionType() == FinancialTransaction.TransactionType.TRANSFER) {
+            if (request.getToAccountNumber() == null || request.getToAccountNumber().trim().isEmpty()) {
+                return "To account number is required for transfers";
+            }
+            if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
+                return "Cannot transfer to the same account";
+            }
+        }
+        return null;
+    }
+
+    private BatchTransactionItemResult rejected(int index, String errorMessage) {
+        return BatchTransactionItemResult.builder()
+                .index(index)
+                .status(FinancialTransaction.TransactionStatus.FAILED.name())
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    // ========== HELPER CLASSES ==========
+
+    private record BatchItem(int index, CreateTransactionRequest request) {
+    }
+}
@@ -2,6 +2,7 @@
 package com.example.azure_sql_demo.service;
 
 import com.example.azure_sql_demo.dto.CreateTransactionRequest;
+import com.example.azure_sql_demo.dto.CursorPage;
 import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
 import com.example.azure_sql_demo.dto.TransferRequest;
 import com.example.azure_sql_demo.exception.BusinessException;
@@ -10,34 +11,49 @@ import com.example.azure_sql_demo.model.Account;
 import com.example.azure_sql_demo.model.FinancialTransaction;
 import com.example.azure_sql_demo.repository.AccountRepository;
 import com.example.azure_sql_demo.repository.FinancialTransactionRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = "app.service", histogram = true)
 public class FinancialTransactionService {
 
     private final FinancialTransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final FinancialTransactionMapper transactionMapper;
     private final AuditService auditService;
+    private final TransactionRetryExecutor retryExecutor;
+    private final AccountBalanceUpdater accountBalanceUpdater;
+    private final TransactionMetrics transactionMetrics;
 
     /**
-     * Create and process a financial transaction
+     * Create and process a financial transaction (retried on concurrent update conflicts)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FinancialTransactionDTO createTransaction(CreateTransactionRequest request) {
+        return retryExecutor.execute("createTransaction", () -> doCreateTransaction(request));
+    }
+
+    private FinancialTransactionDTO doCreateTransaction(CreateTransactionRequest request) {
         log.info("Creating transaction: {} for amount: {}", 
                 request.getTransactionType(), request.getAmount());
         
@@ -51,7 +67,7 @@ public class FinancialTransactionService {
         setTransactionAccounts(transaction, request);
         
         // Generate reference number
-        transaction.setReferenceNumber(generateReferenceNumber(request.getTransactionType()));
+        transaction.setReferenceNumber(TransactionReferenceGenerator.generate(request.getTransactionType()));
         
         // Save transaction
         FinancialTransaction savedTransaction = transactionRepository.save(transaction);
@@ -74,19 +90,24 @@ public class FinancialTransactionService {
     }
 
     /**
-     * Process transfer between accounts
+     * Process transfer between accounts (retried on concurrent update conflicts)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FinancialTransactionDTO transfer(TransferRequest request) {
+        return retryExecutor.execute("transfer", () -> doTransfer(request));
+    }
+
+    private FinancialTransactionDTO doTransfer(TransferRequest request) {
         log.info("Processing transfer from {} to {} amount: {}", 
                 request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
         
         // Validate transfer request
         validateTransferRequest(request);
         
-        // Get accounts
-        Account fromAccount = findAccountByNumber(request.getFromAccountNumber());
-        Account toAccount = findAccountByNumber(request.getToAccountNumber());
+        // Get accounts (row-locked in id order)
+        Map<String, Account> accounts = lockAccounts(request.getFromAccountNumber(), request.getToAccountNumber());
+        Account fromAccount = accounts.get(request.getFromAccountNumber());
+        Account toAccount = accounts.get(request.getToAccountNumber());
         
         // Validate transfer
         validateTransfer(fromAccount, toAccount, request.getAmount());
@@ -97,7 +118,7 @@ public class FinancialTransactionService {
                 .amount(request.getAmount())
                 .description(request.getDescription())
                 .referenceNumber(request.getReferenceNumber() != null ? 
-                        request.getReferenceNumber() : generateReferenceNumber(FinancialTransaction.TransactionType.TRANSFER))
+                        request.getReferenceNumber() : TransactionReferenceGenerator.generate(FinancialTransaction.TransactionType.TRANSFER))
                 .fromAccount(fromAccount)
                 .toAccount(toAccount)
                 .status(FinancialTransaction.TransactionStatus.PENDING)
@@ -121,8 +142,8 @@ public class FinancialTransactionService {
      */
     public FinancialTransactionDTO getTransactionById(Long id) {
         log.info("Fetching transaction by id: {}", id);
-        FinancialTransaction transaction = findTransactionById(id);
-        return transactionMapper.toDTO(transaction);
+        return transactionRepository.findDtoById(id)
+                .orElseThrow(() -> new BusinessException("Transaction not found with id: " + id));
     }
 
     /**
@@ -131,11 +152,9 @@ public class FinancialTransactionService {
     public Page<FinancialTransactionDTO> getTransactionsByAccount(String accountNumber, Pageable pageable) {
         log.info("Fetching transactions for account: {}", accountNumber);
         
-        Account account = findAccountByNumber(accountNumber);
-        Page<FinancialTransaction> transactions = transactionRepository
-                .findByFromAccountOrToAccountOrderByCreatedAtDesc(account, account, pageable);
-        
-        return transactions.map(transactionMapper::toDTO);
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new BusinessException("Account not found: " + accountNumber));
+        return transactionRepository.findDtoPageByAccountId(accountId, pageable);
     }
 
     /**
@@ -144,10 +163,7 @@ public class FinancialTransactionService {
     public Page<FinancialTransactionDTO> getUserTransactions(Long userId, Pageable pageable) {
         log.info("Fetching transactions for user: {}", userId);
         
-        Page<FinancialTransaction> transactions = transactionRepository
-                .findByFromAccount_UserIdOrToAccount_UserIdOrderByCreatedAtDesc(userId, userId, pageable);
-        
-        return transactions.map(transactionMapper::toDTO);
+        return transactionRepository.findDtoPageByUserId(userId, pageable);
     }
 
     /**
@@ -156,8 +172,7 @@ public class FinancialTransactionService {
     public List<FinancialTransactionDTO> getTransactionsByStatus(FinancialTransaction.TransactionStatus status) {
         log.info("Fetching transactions by status: {}", status);
         
-        List<FinancialTransaction> transactions = transactionRepository.findByStatusOrderByCreatedAtDesc(status);
-        return transactionMapper.toDTOList(transactions);
+        return transactionRepository.findDtosByStatus(status);
     }
 
     /**
@@ -194,19 +209,21 @@ public class FinancialTransactionService {
         log.debug("Processing deposit transaction: {}", transaction.getId());
         
         try {
-            Account account = transaction.getFromAccount();
-            account.credit(transaction.getAmount());
-            accountRepository.save(account);
+            accountBalanceUpdater.credit(transaction.getFromAccount(), transaction.getAmount());
             
             transaction.markAsCompleted();
             transactionRepository.save(transaction);
+            transactionMetrics.recordCompleted(transaction.getTransactionType());
             
             log.debug("Deposit processed successfully");
             
+        } catch (ConcurrencyFailureException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing deposit: {}", e.getMessage());
             transaction.markAsFailed(e.getMessage());
             transactionRepository.save(transaction);
+            transactionMetrics.recordFailed(transaction.getTransactionType());
             throw new BusinessException("Failed to process deposit: " + e.getMessage());
         }
     }
@@ -218,24 +235,21 @@ public class FinancialTransactionService {
         log.debug("Processing withdrawal transaction: {}", transaction.getId());
         
         try {
-            Account account = transaction.getFromAccount();
-            
-            if (!account.canDebit(transaction.getAmount())) {
-                throw new BusinessException("Insufficient funds for withdrawal");
-            }
-            
-            account.debit(transaction.getAmount());
-            accountRepository.save(account);
+            accountBalanceUpdater.debit(transaction.getFromAccount(), transaction.getAmount());
             
             transaction.markAsCompleted();
             transactionRepository.save(transaction);
+            transactionMetrics.recordCompleted(transaction.getTransactionType());
             
             log.debug("Withdrawal processed successfully");
             
+        } catch (ConcurrencyFailureException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing withdrawal: {}", e.getMessage());
             transaction.markAsFailed(e.getMessage());
             transactionRepository.save(transaction);
+            transactionMetrics.recordFailed(transaction.getTransactionType());
             throw new BusinessException("Failed to process withdrawal: " + e.getMessage());
         }
     }
@@ -265,16 +279,20 @@ public class FinancialTransactionService {
             
             transaction.markAsCompleted();
             transactionRepository.save(transaction);
+            transactionMetrics.recordCompleted(transaction.getTransactionType());
             
             // ✅ Método correto do AuditService
             auditService.logFinancialTransaction(transaction);
             
             log.debug("Transfer processed successfully");
             
+        } catch (ConcurrencyFailureException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing transfer: {}", e.getMessage());
             transaction.markAsFailed(e.getMessage());
             transactionRepository.save(transaction);
+            transactionMetrics.recordFailed(transaction.getTransactionType());
             throw new BusinessException("Failed to process transfer: " + e.getMessage());
         }
     }
@@ -286,24 +304,21 @@ public class FinancialTransactionService {
         log.debug("Processing payment transaction: {}", transaction.getId());
         
         try {
-            Account account = transaction.getFromAccount();
-            
-            if (!account.canDebit(transaction.getAmount())) {
-                throw new BusinessException("Insufficient funds for payment");
-            }
-            
-            account.debit(transaction.getAmount());
-            accountRepository.save(account);
+            accountBalanceUpdater.debit(transaction.getFromAccount(), transaction.getAmount());
             
             transaction.markAsCompleted();
             transactionRepository.save(transaction);
+            transactionMetrics.recordCompleted(transaction.getTransactionType());
             
             log.debug("Payment processed successfully");
             
+        } catch (ConcurrencyFailureException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing payment: {}", e.getMessage());
             transaction.markAsFailed(e.getMessage());
             transactionRepository.save(transaction);
+            transactionMetrics.recordFailed(transaction.getTransactionType());
             throw new BusinessException("Failed to process payment: " + e.getMessage());
         }
     }
@@ -311,7 +326,7 @@ public class FinancialTransactionService {
     /**
      * Transfer funds between accounts (método adicional)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FinancialTransactionDTO transferFunds(TransferRequest request, String initiatedBy) {
         log.info("Transfer funds initiated by {} from {} to {} amount: {}", 
                 initiatedBy, request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
@@ -325,10 +340,8 @@ public class FinancialTransactionService {
     public FinancialTransactionDTO getTransactionByReference(String referenceNumber) {
         log.info("Fetching transaction by reference: {}", referenceNumber);
         
-        FinancialTransaction transaction = transactionRepository.findByReferenceNumber(referenceNumber)
+        return transactionRepository.findDtoByReferenceNumber(referenceNumber)
                 .orElseThrow(() -> new BusinessException("Transaction not found with reference: " + referenceNumber));
-        
-        return transactionMapper.toDTO(transaction);
     }
 
     /**
@@ -339,19 +352,8 @@ public class FinancialTransactionService {
         log.info("Searching transactions for user: {} from {} to {} with status: {}", 
                 userId, startDate, endDate, status);
         
-        FinancialTransaction.TransactionStatus transactionStatus = null;
-        if (status != null && !status.trim().isEmpty()) {
-            try {
-                transactionStatus = FinancialTransaction.TransactionStatus.valueOf(status.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new BusinessException("Invalid transaction status: " + status);
-            }
-        }
-        
-        Page<FinancialTransaction> transactions = transactionRepository.findTransactionsByCriteria(
-                userId, startDate, endDate, transactionStatus, null, null, null, pageable);
-        
-        return transactions.map(transactionMapper::toDTO);
+        return transactionRepository.findDtoPageByCriteria(
+                userId, startDate, endDate, parseStatus(status), pageable);
     }
 
     /**
@@ -360,50 +362,149 @@ public class FinancialTransactionService {
     public Page<FinancialTransactionDTO> searchTransactions(Long userId, LocalDateTime startDate, 
                                                            LocalDateTime endDate, String status) {
         return searchTransactions(userId, startDate, endDate, status, 
-                org.springframework.data.domain.PageRequest.of(0, 20));
+                PageRequest.of(0, 20));
+    }
+
+    // ========== CURSOR (KEYSET) PAGINATION ==========
+
+    /**
+     * Get account transactions one cursor page at a time
+     */
+    public CursorPage<FinancialTransactionDTO> getTransactionsByAccount(String accountNumber, String cursor, int size) {
+        log.info("Fetching transactions for account: {} (cursor page)", accountNumber);
+        
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new BusinessException("Account not found: " + accountNumber));
+        Pageable pageable = PageRequest.of(0, size);
+        
+        Slice<FinancialTransactionDTO> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = transactionRepository.findFirstPageByAccountId(accountId, pageable);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            slice = transactionRepository.findPageByAccountIdAfter(
+                    accountId, position.createdAt(), position.id(), pageable);
+        }
+        return toCursorPage(slice);
+    }
+
+    /**
+     * Get user transactions one cursor page at a time
+     */
+    public CursorPage<FinancialTransactionDTO> getUserTransactions(Long userId, String cursor, int size) {
+        log.info("Fetching transactions for user: {} (cursor page)", userId);
+        
+        Pageable pageable = PageRequest.of(0, size);
+        
+        Slice<FinancialTransactionDTO> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = transactionRepository.findFirstPageByUserId(userId, pageable);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            slice = transactionRepository.findPageByUserIdAfter(
+                    userId, position.createdAt(), position.id(), pageable);
+        }
+        return toCursorPage(slice);
+    }
+
+    /**
+     * Search transactions one cursor page at a time
+     */
+    public CursorPage<FinancialTransactionDTO> searchTransactions(Long userId, LocalDateTime startDate,
+                                                                 LocalDateTime endDate, String status,
+                                                                 String cursor, int size) {
+        log.info("Searching transactions (cursor page) for user: {} from {} to {} with status: {}", 
+                userId, startDate, endDate, status);
+        
+        TransactionCursor position = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+        Slice<FinancialTransactionDTO> slice = transactionRepository.findSliceByCriteria(
+                userId, startDate, endDate, parseStatus(status),
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                PageRequest.of(0, size));
+        return toCursorPage(slice);
+    }
+
+    private CursorPage<FinancialTransactionDTO> toCursorPage(Slice<FinancialTransactionDTO> slice) {
+        List<FinancialTransactionDTO> transactions = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !transactions.isEmpty()) {
+            FinancialTransactionDTO last = transactions.get(transactions.size() - 1);
+            nextCursor = new TransactionCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        return CursorPage.<FinancialTransactionDTO>builder()
+                .content(transactions)
+                .size(transactions.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
      * Set transaction accounts based on request
      */
     private void setTransactionAccounts(FinancialTransaction transaction, CreateTransactionRequest request) {
+        // Only transfers mutate balances in memory and need row locks; the other types get
+        // unloaded references, which the conditional UPDATE in AccountBalanceUpdater populates
+        Map<String, Account> accounts = new HashMap<>();
+        if (request.getTransactionType() == FinancialTransaction.TransactionType.TRANSFER) {
+            accounts.putAll(lockAccounts(request.getFromAccountNumber(), request.getToAccountNumber()));
+        } else {
+            accounts.put(request.getFromAccountNumber(), referenceAccount(request.getFromAccountNumber()));
+            if (request.getToAccountNumber() != null) {
+                accounts.put(request.getToAccountNumber(), referenceAccount(request.getToAccountNumber()));
+            }
+        }
+
         // Set from account
-        Account fromAccount = findAccountByNumber(request.getFromAccountNumber());
-        transaction.setFromAccount(fromAccount);
+        transaction.setFromAccount(accounts.get(request.getFromAccountNumber()));
         
         // Set to account if provided
         if (request.getToAccountNumber() != null) {
-            Account toAccount = findAccountByNumber(request.getToAccountNumber());
-            transaction.setToAccount(toAccount);
+            transaction.setToAccount(accounts.get(request.getToAccountNumber()));
+        }
+    }
+
+    /**
+     * Lock accounts (SELECT ... FOR UPDATE) in ascending id order, so two transfers over the
+     * same pair of accounts always acquire their locks in the same order and cannot deadlock
+     */
+    private Map<String, Account> lockAccounts(String... accountNumbers) {
+        Map<Long, String> accountNumbersById = new TreeMap<>();
+        for (String accountNumber : accountNumbers) {
+            Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new BusinessException("Account not found: " + accountNumber));
+            accountNumbersById.put(accountId, accountNumber);
         }
+
+        Map<String, Account> accounts = new HashMap<>();
+        accountNumbersById.forEach((accountId, accountNumber) -> accounts.put(accountNumber,
+                accountRepository.findByIdForUpdate(accountId)
+                        .orElseThrow(() -> new BusinessException("Account not found: " + accountNumber))));
+        return accounts;
     }
 
     /**
-     * Generate reference number for transaction
+     * Parse an optional status filter
      */
-    private String generateReferenceNumber(FinancialTransaction.TransactionType type) { // ✅ Parâmetro correto
-        String prefix = switch (type) { // ✅ Switch com default
-            case DEPOSIT -> "DEP";
-            case WITHDRAWAL -> "WDR";
-            case TRANSFER -> "TRF";
-            case PAYMENT -> "PAY";
-            case REFUND -> "REF";
-            case FEE -> "FEE";
-            case INTEREST -> "INT";
-            default -> "TXN"; // ✅ Default case
-        };
-        
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String uuid = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        
-        return String.format("%s-%s-%s", prefix, timestamp, uuid);
+    private FinancialTransaction.TransactionStatus parseStatus(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return FinancialTransaction.TransactionStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid transaction status: " + status);
+        }
     }
 
     /**
-     * Find account by number or throw exception
+     * Reference to an account by number without loading it (only its id is selected)
      */
-    private Account findAccountByNumber(String accountNumber) {
-        return accountRepository.findByAccountNumber(accountNumber)
+    private Account referenceAccount(String accountNumber) {
+        return accountRepository.findIdByAccountNumber(accountNumber)
+                .map(accountRepository::getReferenceById)
                 .orElseThrow(() -> new BusinessException("Account not found: " + accountNumber));
     }
 
@@ -9,10 +9,12 @@ import com.example.azure_sql_demo.exception.BusinessException;
 import com.example.azure_sql_demo.mapper.ProductMapper;
 import com.example.azure_sql_demo.model.Product;
 import com.example.azure_sql_demo.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,18 +22,21 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = "app.service", histogram = true)
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final AuditService auditService;
+    private final ProductStatsTracker productStatsTracker;
 
     /**
      * Retrieves all products with pagination
@@ -57,7 +62,7 @@ public class ProductService {
      * Creates a new product
      */
     @Transactional
-    @CacheEvict(value = {"products", "product-stats"}, allEntries = true)
+    @CacheEvict(value = {"products", "products-by-category", "product-categories"}, allEntries = true)
     public ProductDTO createProduct(CreateProductRequest request) {
         log.info("Creating new product: {}", request.getName());
         
@@ -70,6 +75,7 @@ public class ProductService {
         // Save product
         Product savedProduct = productRepository.save(product);
         log.info("Product created successfully with id: {}", savedProduct.getId());
+        productStatsTracker.productChanged(savedProduct);
         
         // Audit log
         auditService.logProductCreation(savedProduct);
@@ -81,7 +87,10 @@ public class ProductService {
      * Updates an existing product
      */
     @Transactional
-    @CacheEvict(value = {"products", "product", "product-stats"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = {"products", "products-by-category", "product-categories"}, allEntries = true),
+            @CacheEvict(value = "product", key = "#id")
+    })
     public ProductDTO updateProduct(Long id, UpdateProductRequest request) {
         log.info("Updating product with id: {}", id);
         
@@ -97,6 +106,7 @@ public class ProductService {
         // Save updated product
         Product updatedProduct = productRepository.save(existingProduct);
         log.info("Product updated successfully: {}", updatedProduct.getId());
+        productStatsTracker.productChanged(updatedProduct);
         
         // Audit log
         auditService.logProductUpdate(originalProduct, updatedProduct);
@@ -108,7 +118,10 @@ public class ProductService {
      * Soft deletes a product (marks as inactive)
      */
     @Transactional
-    @CacheEvict(value = {"products", "product", "product-stats"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = {"products", "products-by-category"}, allEntries = true),
+            @CacheEvict(value = "product", key = "#id")
+    })
     public void deleteProduct(Long id) {
         log.info("Deleting product with id: {}", id);
         
@@ -120,6 +133,7 @@ public class ProductService {
         
         product.setIsActive(false);
         productRepository.save(product);
+        productStatsTracker.productChanged(product);
         
         log.info("Product soft deleted successfully: {}", id);
         auditService.logProductDeletion(product);
@@ -136,14 +150,28 @@ public class ProductService {
     }
 
     /**
-     * Searches products by name (case-insensitive)
+     * Searches products by name (case-insensitive), exact and prefix matches first.
+     * Terms too short for the trigram indexes use the plain, unranked LIKE query
      */
     public List<ProductDTO> searchProductsByName(String name) {
         log.info("Searching products by name: {}", name);
-        List<Product> products = productRepository.findByNameContainingIgnoreCase(name);
+        List<Product> products = SearchTerms.isIndexable(name)
+                ? productRepository.searchByName(SearchTerms.likeFragment(name), SearchTerms.normalize(name))
+                : productRepository.findByNameContainingIgnoreCase(name);
         return productMapper.toDTOList(products);
     }
 
+    /**
+     * Paginated variant of {@link #searchProductsByName(String)}
+     */
+    public Page<ProductDTO> searchProductsByName(String name, Pageable pageable) {
+        log.info("Searching products by name: {} (page {})", name, pageable.getPageNumber());
+        Page<Product> products = SearchTerms.isIndexable(name)
+                ? productRepository.searchByName(SearchTerms.likeFragment(name), SearchTerms.normalize(name), pageable)
+                : productRepository.findByNameContainingIgnoreCase(name, pageable);
+        return products.map(productMapper::toDTO);
+    }
+
     /**
      * Retrieves products within a price range
      */
@@ -175,7 +203,10 @@ public class ProductService {
      * Updates product stock quantity
      */
     @Transactional
-    @CacheEvict(value = {"products", "product"}, key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = {"products", "products-by-category"}, allEntries = true),
+            @CacheEvict(value = "product", key = "#id")
+    })
     public ProductDTO updateProductStock(Long id, Integer quantity) {
         log.info("Updating stock for product id: {} to quantity: {}", id, quantity);
         
@@ -184,6 +215,7 @@ public class ProductService {
         
         product.setQuantity(quantity);
         Product savedProduct = productRepository.save(product);
+        productStatsTracker.productChanged(savedProduct);
         
         log.info("Stock updated from {} to {} for product: {}", oldQuantity, quantity, id);
         auditService.logStockUpdate(product, oldQuantity, quantity);
@@ -195,7 +227,10 @@ public class ProductService {
      * Activates a product
      */
     @Transactional
-    @CacheEvict(value = {"products", "product"}, key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = {"products", "products-by-category"}, allEntries = true),
+            @CacheEvict(value = "product", key = "#id")
+    })
     public ProductDTO activateProduct(Long id) {
         log.info("Activating product with id: {}", id);
         
@@ -207,6 +242,7 @@ public class ProductService {
         
         product.setIsActive(true);
         Product savedProduct = productRepository.save(product);
+        productStatsTracker.productChanged(savedProduct);
         
         log.info("Product activated successfully: {}", id);
         auditService.logProductActivation(product);
@@ -218,7 +254,10 @@ public class ProductService {
      * Deactivates a product
      */
     @Transactional
-    @CacheEvict(value = {"products", "product"}, key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = {"products", "products-by-category"}, allEntries = true),
+            @CacheEvict(value = "product", key = "#id")
+    })
     public ProductDTO deactivateProduct(Long id) {
         log.info("Deactivating product with id: {}", id);
         
@@ -230,6 +269,7 @@ public class ProductService {
         
         product.setIsActive(false);
         Product savedProduct = productRepository.save(product);
+        productStatsTracker.productChanged(savedProduct);
         
         log.info("Product deactivated successfully: {}", id);
         auditService.logProductDeactivation(product);
@@ -247,41 +287,44 @@ public class ProductService {
     }
 
     /**
-     * Retrieves product statistics
+     * Retrieves product statistics from the in-memory tracker; until its first reconciliation
+     * finishes they are computed with two aggregate statements
      */
-    @Cacheable(value = "product-stats")
     public ProductStatsDTO getProductStatistics() {
+        ProductStatsDTO snapshot = productStatsTracker.getSnapshot();
+        return snapshot != null ? snapshot : calculateProductStatistics();
+    }
+
+    /**
+     * Computes product statistics in the database with two aggregate statements, bypassing the tracker
+     */
+    public ProductStatsDTO calculateProductStatistics() {
         log.info("Calculating product statistics");
-        
-        Long totalProducts = productRepository.count();
-        Long activeProducts = productRepository.countByIsActiveTrue();
-        Long inactiveProducts = productRepository.countByIsActiveFalse();
-        Long outOfStockProducts = productRepository.countByQuantityEqualsAndIsActiveTrue(0);
-        Long lowStockProducts = productRepository.countByQuantityLessThanAndIsActiveTrue(10);
-        
-        BigDecimal totalInventoryValue = calculateTotalInventoryValue();
-        BigDecimal averagePrice = calculateAveragePrice();
-        
-        Optional<Product> mostExpensive = productRepository.findTopByIsActiveTrueOrderByPriceDesc();
-        Optional<Product> cheapest = productRepository.findTopByIsActiveTrueOrderByPriceAsc();
-        
-        String topCategory = productRepository.findTopCategoryByProductCount()
-                .orElse("No categories");
-        
-        Integer totalCategories = productRepository.countDistinctCategories();
-        
+        ProductStatsAggregate aggregate = productRepository.aggregateStatistics(ProductStatsTracker.LOW_STOCK_THRESHOLD);
+
+        Map<String, String> highlights = new HashMap<>();
+        for (Object[] row : productRepository.findStatisticsHighlights(true)) {
+            highlights.put((String) row[0], (String) row[1]);
+        }
+
+        long activeProducts = orZero(aggregate.activeProducts());
+        BigDecimal averagePrice = activeProducts == 0 || aggregate.totalActivePrice() == null
+                ? BigDecimal.ZERO
+                : aggregate.totalActivePrice().divide(BigDecimal.valueOf(activeProducts), 2, RoundingMode.HALF_UP);
+
         return ProductStatsDTO.builder()
-                .totalProducts(totalProducts)
+                .totalProducts(orZero(aggregate.totalProducts()))
                 .activeProducts(activeProducts)
-                .inactiveProducts(inactiveProducts)
-                .outOfStockProducts(outOfStockProducts)
-                .lowStockProducts(lowStockProducts)
-                .totalInventoryValue(totalInventoryValue)
+                .inactiveProducts(orZero(aggregate.inactiveProducts()))
+                .outOfStockProducts(orZero(aggregate.outOfStockProducts()))
+                .lowStockProducts(orZero(aggregate.lowStockProducts()))
+                .totalInventoryValue(aggregate.totalInventoryValue() != null
+                        ? aggregate.totalInventoryValue() : BigDecimal.ZERO)
                 .averagePrice(averagePrice)
-                .mostExpensiveProductName(mostExpensive.map(Product::getName).orElse("N/A"))
-                .cheapestProductName(cheapest.map(Product::getName).orElse("N/A"))
-                .topCategory(topCategory)
-                .totalCategories(totalCategories)
+                .mostExpensiveProductName(highlights.getOrDefault("MAX", "N/A"))
+                .cheapestProductName(highlights.getOrDefault("MIN", "N/A"))
+                .topCategory(highlights.getOrDefault("CATEGORY", "No categories"))
+                .totalCategories((int) orZero(aggregate.totalCategories()))
                 .build();
     }
 
@@ -380,31 +423,8 @@ public class ProductService {
                 .build();
     }
 
-    /**
-     * Calculates total inventory value
-     */
-    private BigDecimal calculateTotalInventoryValue() {
-        List<Product> activeProducts = productRepository.findByIsActiveTrue();
-        return activeProducts.stream()
-                .map(product -> product.getPrice().multiply(BigDecimal.valueOf(product.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    /**
-     * Calculates average price of active products
-     */
-    private BigDecimal calculateAveragePrice() {
-        List<Product> activeProducts = productRepository.findByIsActiveTrue();
-        
-        if (activeProducts.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        
-        BigDecimal totalPrice = activeProducts.stream()
-                .map(Product::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        return totalPrice.divide(BigDecimal.valueOf(activeProducts.size()), 2, RoundingMode.HALF_UP);
+    private long orZero(Long value) {
+        return value != null ? value : 0L;
     }
 
     /**
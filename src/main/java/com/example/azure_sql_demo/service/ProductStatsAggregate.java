@@ -0,0 +1,18 @@
+// ProductStatsAggregate.java - Agregados de produtos calculados no banco
+package com.example.azure_sql_demo.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Scalar product statistics returned by a single aggregate query. Sums are null when no row
+ * qualifies.
+ */
+public record ProductStatsAggregate(Long totalProducts,
+                                    Long activeProducts,
+                                    Long inactiveProducts,
+                                    Long outOfStockProducts,
+                                    Long lowStockProducts,
+                                    BigDecimal totalInventoryValue,
+                                    BigDecimal totalActivePrice,
+                                    Long totalCategories) {
+}
@@ -0,0 +1,34 @@
+// ProductStatsEntry.java - Campos de um produto relevantes para as estatísticas
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.model.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable view of the product fields that feed {@link ProductStatsTracker}.
+ */
+public record ProductStatsEntry(Long id,
+                                String name,
+                                BigDecimal price,
+                                Integer quantity,
+                                String category,
+                                Boolean active) {
+
+    public static ProductStatsEntry of(Product product) {
+        return new ProductStatsEntry(product.getId(), product.getName(), product.getPrice(),
+                product.getQuantity(), product.getCategory(), product.getIsActive());
+    }
+
+    boolean isActive() {
+        return Boolean.TRUE.equals(active);
+    }
+
+    int quantityOrZero() {
+        return quantity != null ? quantity : 0;
+    }
+
+    BigDecimal priceOrZero() {
+        return price != null ? price : BigDecimal.ZERO;
+    }
+}
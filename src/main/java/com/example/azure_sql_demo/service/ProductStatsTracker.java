@@ -0,0 +1,268 @@
+// ProductStatsTracker.java - Estatísticas de produtos mantidas incrementalmente em memória
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.dto.ProductStatsDTO;
+import com.example.azure_sql_demo.model.Product;
+import com.example.azure_sql_demo.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Keeps product statistics up to date in memory so reads never touch the database.
+ *
+ * ProductService reports every saved product; the change is applied after commit to running
+ * counters (per product state, per-category counts and an ordered set of active prices) and a
+ * new immutable snapshot is published. A scheduled reconciliation rebuilds everything from a
+ * streamed scan, which also picks up writes made by other nodes or outside ProductService.
+ * Memory grows with the catalog: one small entry per product.
+ */
+@Component
+@Slf4j
+public class ProductStatsTracker {
+
+    /** Active products below this quantity count as low stock */
+    static final int LOW_STOCK_THRESHOLD = 10;
+
+    private static final Comparator<ProductStatsEntry> BY_PRICE =
+            Comparator.comparing(ProductStatsEntry::priceOrZero).thenComparing(ProductStatsEntry::id);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /** Guarded by this */
+    private Counters counters = new Counters();
+
+    /** Changes applied while a reconciliation scan runs, replayed on the rebuilt counters; guarded by this */
+    private List<ProductStatsEntry> pendingDuringRebuild;
+
+    private volatile ProductStatsDTO snapshot;
+
+    public ProductStatsTracker(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // ========== PUBLIC API ==========
+
+    /**
+     * Current statistics, or null until the first reconciliation has completed
+     */
+    public ProductStatsDTO getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Record a saved product; applied once the surrounding transaction commits
+     */
+    public void productChanged(Product product) {
+        ProductStatsEntry entry = ProductStatsEntry.of(product);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(entry);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(entry);
+            }
+        });
+    }
+
+    /**
+     * Rebuild the statistics from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.products.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.products.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (pendingDuringRebuild != null) {
+                log.debug("Product statistics reconciliation already running");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        long start = System.currentTimeMillis();
+        Counters rebuilt = new Counters();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductStatsEntry> entries = productRepository.streamStatsEntries()) {
+                    entries.forEach(rebuilt::put);
+                }
+            });
+        } catch (Exception e) {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Product statistics reconciliation failed: {}", e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            pendingDuringRebuild.forEach(rebuilt::put);
+            pendingDuringRebuild = null;
+
+            if (snapshot != null && !counters.sameTotals(rebuilt)) {
+                log.warn("Product statistics drifted from the database, corrected by reconciliation");
+            }
+            counters = rebuilt;
+            publish();
+        }
+        log.info("Product statistics reconciled: {} products in {}ms",
+                rebuilt.total, System.currentTimeMillis() - start);
+    }
+
+    // ========== UPDATES ==========
+
+    private synchronized void apply(ProductStatsEntry entry) {
+        counters.put(entry);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(entry);
+        }
+        if (snapshot != null) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        snapshot = counters.toDTO();
+    }
+
+    // ========== STATE ==========
+
+    /**
+     * Running counters; not thread-safe, always used under the tracker's lock
+     */
+    private static class Counters {
+
+        private final Map<Long, ProductStatsEntry> products = new HashMap<>();
+        private final TreeSet<ProductStatsEntry> activeByPrice = new TreeSet<>(BY_PRICE);
+        private final Map<String, Long> categoryCounts = new HashMap<>();
+
+        private long total;
+        private long active;
+        private long inactive;
+        private long outOfStock;
+        private long lowStock;
+        private BigDecimal inventoryValue = BigDecimal.ZERO;
+        private BigDecimal activePriceSum = BigDecimal.ZERO;
+
+        /**
+         * Insert or replace a product; idempotent, so replaying a change is harmless
+         */
+        void put(ProductStatsEntry entry) {
+            ProductStatsEntry previous = products.put(entry.id(), entry);
+            if (previous != null) {
+                update(previous, -1);
+            }
+            update(entry, 1);
+        }
+
+        private void update(ProductStatsEntry entry, int sign) {
+            total += sign;
+            if (entry.category() != null) {
+                categoryCounts.merge(entry.category(), (long) sign, Long::sum);
+                categoryCounts.remove(entry.category(), 0L);
+            }
+
+            if (!entry.isActive()) {
+                inactive += sign;
+                return;
+            }
+
+            active += sign;
+            int quantity = entry.quantityOrZero();
+            if (quantity == 0) {
+                outOfStock += sign;
+            }
+            if (quantity < LOW_STOCK_THRESHOLD) {
+                lowStock += sign;
+            }
+
+            BigDecimal price = entry.priceOrZero();
+            BigDecimal value = price.multiply(BigDecimal.valueOf(quantity));
+            if (sign > 0) {
+                inventoryValue = inventoryValue.add(value);
+                activePriceSum = activePriceSum.add(price);
+                activeByPrice.add(entry);
+            } else {
+                inventoryValue = inventoryValue.subtract(value);
+                activePriceSum = activePriceSum.subtract(price);
+                activeByPrice.remove(entry);
+            }
+        }
+
+        boolean sameTotals(Counters other) {
+            return total == other.total && active == other.active && outOfStock == other.outOfStock
+                    && lowStock == other.lowStock && inventoryValue.compareTo(other.inventoryValue) == 0;
+        }
+
+        ProductStatsDTO toDTO() {
+            BigDecimal averagePrice = active == 0
+                    ? BigDecimal.ZERO
+                    : activePriceSum.divide(BigDecimal.valueOf(active), 2, RoundingMode.HALF_UP);
+
+            return ProductStatsDTO.builder()
+                    .totalProducts(total)
+                    .activeProducts(active)
+                    .inactiveProducts(inactive)
+                    .outOfStockProducts(outOfStock)
+                    .lowStockProducts(lowStock)
+                    .totalInventoryValue(inventoryValue)
+                    .averagePrice(averagePrice)
+                    .mostExpensiveProductName(mostExpensiveName())
+                    .cheapestProductName(activeByPrice.isEmpty() ? "N/A" : activeByPrice.first().name())
+                    .topCategory(topCategory())
+                    .totalCategories(categoryCounts.size())
+                    .build();
+        }
+
+        /**
+         * Highest price, lowest id among ties (same order as the aggregate query)
+         */
+        private String mostExpensiveName() {
+            if (activeByPrice.isEmpty()) {
+                return "N/A";
+            }
+            BigDecimal maxPrice = activeByPrice.last().priceOrZero();
+            ProductStatsEntry probe = new ProductStatsEntry(Long.MIN_VALUE, null, maxPrice, null, null, true);
+            return activeByPrice.ceiling(probe).name();
+        }
+
+        /**
+         * Category with most products, alphabetical among ties
+         */
+        private String topCategory() {
+            String top = null;
+            long topCount = 0;
+            for (Map.Entry<String, Long> category : categoryCounts.entrySet()) {
+                long count = category.getValue();
+                if (count > topCount || (count == topCount && category.getKey().compareTo(top) < 0)) {
+                    top = category.getKey();
+                    topCount = count;
+                }
+            }
+            return top != null ? top : "No categories";
+        }
+    }
+}
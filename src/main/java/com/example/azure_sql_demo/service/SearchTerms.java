@@ -0,0 +1,41 @@
+// SearchTerms.java - Normalização dos termos de busca por substring
+package com.example.azure_sql_demo.service;
+
+import java.util.Locale;
+
+/**
+ * Turns user input into the lower-case, LIKE-escaped fragment the search queries expect
+ * (queries use ESCAPE '\'). Terms shorter than three characters yield no trigram, so the Postgres
+ * search indexes cannot serve them; callers send those through the plain LIKE query instead.
+ */
+public final class SearchTerms {
+
+    public static final int MIN_LENGTH = 3;
+
+    private SearchTerms() {
+    }
+
+    /**
+     * Lower-cased, trimmed term
+     */
+    public static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether the term is long enough for the trigram indexes
+     */
+    public static boolean isIndexable(String term) {
+        return normalize(term).length() >= MIN_LENGTH;
+    }
+
+    /**
+     * Normalized term with LIKE wildcards escaped, so '%' and '_' match literally
+     */
+    public static String likeFragment(String term) {
+        return normalize(term)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
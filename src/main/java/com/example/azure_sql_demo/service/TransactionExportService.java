@@ -0,0 +1,195 @@
+// TransactionExportService.java - Exportação de transações em streaming
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.dto.FinancialTransactionDTO;
+import com.example.azure_sql_demo.exception.BusinessException;
+import com.example.azure_sql_demo.mapper.FinancialTransactionMapper;
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import com.example.azure_sql_demo.repository.AccountRepository;
+import com.example.azure_sql_demo.repository.FinancialTransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams transaction history as NDJSON or CSV straight to the HTTP response.
+ *
+ * Rows come from a repository Stream (JDBC fetch size, read-only) inside a read-only
+ * transaction opened on the response thread; every row is detached once written, so memory
+ * stays flat no matter how many rows are exported.
+ */
+@Service
+@Slf4j
+public class TransactionExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final String CSV_HEADER = "id,transactionType,amount,description,referenceNumber,status," +
+            "errorMessage,processedAt,fromAccountNumber,toAccountNumber,createdAt";
+
+    public enum ExportFormat {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ExportFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat from(String value) {
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final FinancialTransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final FinancialTransactionMapper transactionMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TransactionExportService(FinancialTransactionRepository transactionRepository,
+                                    AccountRepository accountRepository,
+                                    FinancialTransactionMapper transactionMapper,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transactionMapper = transactionMapper;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Export all transactions of an account
+     */
+    public StreamingResponseBody exportByAccount(String accountNumber, ExportFormat format) {
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new BusinessException("Account not found: " + accountNumber));
+        log.info("Exporting transactions for account: {} as {}", accountNumber, format);
+        return body(() -> transactionRepository.streamByAccountId(accountId), format);
+    }
+
+    /**
+     * Export all transactions of a user's accounts
+     */
+    public StreamingResponseBody exportByUser(Long userId, ExportFormat format) {
+        log.info("Exporting transactions for user: {} as {}", userId, format);
+        return body(() -> transactionRepository.streamByUserId(userId), format);
+    }
+
+    /**
+     * Export all transactions with a given status
+     */
+    public StreamingResponseBody exportByStatus(FinancialTransaction.TransactionStatus status, ExportFormat format) {
+        log.info("Exporting transactions by status: {} as {}", status, format);
+        return body(() -> transactionRepository.streamByStatus(status), format);
+    }
+
+    // ========== WRITING ==========
+
+    private StreamingResponseBody body(Supplier<Stream<FinancialTransaction>> query, ExportFormat format) {
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            Long rows = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<FinancialTransaction> transactions = query.get()) {
+                    for (FinancialTransaction transaction : (Iterable<FinancialTransaction>) transactions::iterator) {
+                        writeRow(writer, transactionMapper.toDTO(transaction), format);
+                        detach(transaction);
+                        if (++count % FLUSH_EVERY_ROWS == 0) {
+                            writer.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+
+            writer.flush();
+            log.info("Export finished: {} rows", rows);
+        };
+    }
+
+    private void writeRow(Writer writer, FinancialTransactionDTO dto, ExportFormat format) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(dto));
+        } else {
+            writer.write(String.join(",",
+                    csv(dto.getId()),
+                    csv(dto.getTransactionType()),
+                    csv(dto.getAmount() != null ? dto.getAmount().toPlainString() : null),
+                    csv(dto.getDescription()),
+                    csv(dto.getReferenceNumber()),
+                    csv(dto.getStatus()),
+                    csv(dto.getErrorMessage()),
+                    csv(dto.getProcessedAt()),
+                    csv(dto.getFromAccountNumber()),
+                    csv(dto.getToAccountNumber()),
+                    csv(dto.getCreatedAt())));
+        }
+        writer.write('\n');
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    /**
+     * Drop the row (and the accounts fetched with it) from the persistence context
+     */
+    private void detach(FinancialTransaction transaction) {
+        entityManager.detach(transaction);
+        if (transaction.getFromAccount() != null) {
+            entityManager.detach(transaction.getFromAccount());
+        }
+        if (transaction.getToAccount() != null) {
+            entityManager.detach(transaction.getToAccount());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+// TransactionMetrics.java - Contadores de transações por tipo e resultado
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Publishes financial.transactions{type, outcome} counters.
+ *
+ * Counters are registered up front (bounded tag set: TransactionType x COMPLETED/FAILED) so
+ * recording is a map lookup plus an increment. COMPLETED is counted only once the business
+ * transaction commits, so retried or rolled-back attempts are not reported as successes.
+ */
+@Component
+public class TransactionMetrics {
+
+    private final Map<FinancialTransaction.TransactionType, Counter> completed =
+            new EnumMap<>(FinancialTransaction.TransactionType.class);
+    private final Map<FinancialTransaction.TransactionType, Counter> failed =
+            new EnumMap<>(FinancialTransaction.TransactionType.class);
+
+    public TransactionMetrics(MeterRegistry meterRegistry) {
+        for (FinancialTransaction.TransactionType type : FinancialTransaction.TransactionType.values()) {
+            completed.put(type, counter(meterRegistry, type, FinancialTransaction.TransactionStatus.COMPLETED));
+            failed.put(type, counter(meterRegistry, type, FinancialTransaction.TransactionStatus.FAILED));
+        }
+    }
+
+    /**
+     * Count a completed transaction (after commit when a transaction is active)
+     */
+    public void recordCompleted(FinancialTransaction.TransactionType type) {
+        recordCompleted(type, 1);
+    }
+
+    /**
+     * Count several completed transactions of the same type
+     */
+    public void recordCompleted(FinancialTransaction.TransactionType type, long count) {
+        Counter counter = completed.get(type);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment(count);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment(count);
+            }
+        });
+    }
+
+    /**
+     * Count a failed transaction
+     */
+    public void recordFailed(FinancialTransaction.TransactionType type) {
+        failed.get(type).increment();
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, FinancialTransaction.TransactionType type,
+                            FinancialTransaction.TransactionStatus outcome) {
+        return Counter.builder("financial.transactions")
+                .description("Processed financial transactions")
+                .tag("type", type.name())
+                .tag("outcome", outcome.name())
+                .register(meterRegistry);
+    }
+}
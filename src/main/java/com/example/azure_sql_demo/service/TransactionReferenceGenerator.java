@@ -0,0 +1,32 @@
+// TransactionReferenceGenerator.java - Geração de números de referência
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.model.FinancialTransaction;
+
+import java.util.UUID;
+
+/**
+ * Reference numbers in the form PREFIX-epochMillis-XXXXXXXX, shared by the single and batch paths
+ */
+public final class TransactionReferenceGenerator {
+
+    private TransactionReferenceGenerator() {
+    }
+
+    public static String generate(FinancialTransaction.TransactionType type) {
+        String prefix = switch (type) {
+            case DEPOSIT -> "DEP";
+            case WITHDRAWAL -> "WDR";
+            case TRANSFER -> "TRF";
+            case PAYMENT -> "PAY";
+            case REFUND -> "REF";
+            case FEE -> "FEE";
+            case INTEREST -> "INT";
+        };
+
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        String uuid = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+
+        return String.format("%s-%s-%s", prefix, timestamp, uuid);
+    }
+}
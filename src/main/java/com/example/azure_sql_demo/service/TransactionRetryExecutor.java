@@ -0,0 +1,70 @@
+// TransactionRetryExecutor.java - Retry de transações com conflito de concorrência
+package com.example.azure_sql_demo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and retries it a bounded number of times when it
+ * fails with an optimistic-lock conflict, lock timeout or deadlock.
+ *
+ * Retrying is only possible at the transaction boundary: when called inside an existing
+ * transaction the work simply joins it and conflicts propagate to the outer caller.
+ */
+@Component
+@Slf4j
+public class TransactionRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public TransactionRetryExecutor(PlatformTransactionManager transactionManager,
+                                    @Value("${app.transactions.retry.max-attempts:3}") int maxAttempts,
+                                    @Value("${app.transactions.retry.backoff-ms:20}") long backoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = backoffMs;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} failed after {} attempts due to concurrent updates", operation, attempt);
+                    throw e;
+                }
+                log.debug("{} hit a concurrency conflict (attempt {}/{}): {}",
+                        operation, attempt, maxAttempts, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        if (backoffMs <= 0) {
+            return;
+        }
+        long delay = backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying transaction", e);
+        }
+    }
+}
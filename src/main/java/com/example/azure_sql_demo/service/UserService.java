@@ -10,8 +10,10 @@ import com.example.azure_sql_demo.model.Role;
 import com.example.azure_sql_demo.model.User;
 import com.example.azure_sql_demo.repository.RoleRepository;
 import com.example.azure_sql_demo.repository.UserRepository;
+import com.example.azure_sql_demo.security.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -36,6 +38,7 @@ public class UserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     /**
      * Get all users with pagination
@@ -102,7 +105,7 @@ public class UserService {
         User user = userMapper.toEntity(request);
         
         // Encode password
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingExecutor.call(() -> passwordEncoder.encode(request.getPassword())));
         
         // Set default role
         Role defaultRole = roleRepository.findByName("USER") // ✅ String correto
@@ -150,7 +153,8 @@ public class UserService {
             if (!request.isPasswordMatching()) {
                 throw new BusinessException("Passwords do not match");
             }
-            existingUser.setPassword(passwordEncoder.encode(request.getPassword()));
+            existingUser.setPassword(passwordHashingExecutor.call(() ->
+                    passwordEncoder.encode(request.getPassword())));
         }
         
         User updatedUser = userRepository.save(existingUser);
@@ -163,6 +167,7 @@ public class UserService {
      * Enable user
      */
     @Transactional
+    @CacheEvict(value = "user-status", key = "#id")
     public UserDTO enableUser(Long id) {
         log.info("Enabling user with id: {}", id);
         
@@ -179,6 +184,7 @@ public class UserService {
      * Disable user
      */
     @Transactional
+    @CacheEvict(value = "user-status", key = "#id")
     public UserDTO disableUser(Long id) {
         log.info("Disabling user with id: {}", id);
         
@@ -195,6 +201,7 @@ public class UserService {
      * Delete user (soft delete by disabling)
      */
     @Transactional
+    @CacheEvict(value = "user-status", key = "#id")
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
         
@@ -219,12 +226,13 @@ public class UserService {
         User user = findUserById(id);
         
         // Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHashingExecutor.call(() ->
+                passwordEncoder.matches(request.getCurrentPassword(), user.getPassword()))) {
             throw new BusinessException("Current password is incorrect");
         }
         
         // Update password
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingExecutor.call(() -> passwordEncoder.encode(request.getNewPassword())));
         userRepository.save(user);
         
         log.info("Password changed successfully for user: {}", user.getUsername());
@@ -280,7 +288,7 @@ public class UserService {
      */
     public Page<UserDTO> searchUsers(String searchTerm, Pageable pageable) {
         log.info("Searching users with term: {}", searchTerm);
-        Page<User> users = userRepository.searchUsers(searchTerm, pageable);
+        Page<User> users = userRepository.searchUsers(SearchTerms.likeFragment(searchTerm), pageable);
         return users.map(userMapper::toDTO);
     }
 
@@ -315,6 +323,7 @@ public class UserService {
      * Update user (overloaded for UserDTO)
      */
     @Transactional
+    @CacheEvict(value = "user-status", key = "#id")
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         log.info("Updating user with id: {} using UserDTO", id);
         
@@ -356,12 +365,12 @@ public class UserService {
         User user = findUserById(id);
         
         // Verify current password
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordHashingExecutor.call(() -> passwordEncoder.matches(currentPassword, user.getPassword()))) {
             throw new BusinessException("Current password is incorrect");
         }
         
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingExecutor.call(() -> passwordEncoder.encode(newPassword)));
         userRepository.save(user);
         
         log.info("Password changed successfully for user: {}", user.getUsername());
@@ -0,0 +1,26 @@
+-- V11__Create_audit_outbox.sql
+-- Outbox transacional de auditoria (append-only), checkpoint do relay e linhas ilegíveis
+
+CREATE TABLE audit_outbox (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    log_type NVARCHAR(20) NOT NULL,
+    payload NVARCHAR(MAX) NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE()
+);
+
+CREATE TABLE audit_outbox_checkpoint (
+    relay_name NVARCHAR(50) PRIMARY KEY,
+    relayed_count BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME2
+);
+
+-- Linhas do outbox que o relay não conseguiu ler: saem da fila para não travar o relay
+CREATE TABLE audit_outbox_dead_letter (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    log_type NVARCHAR(20) NOT NULL,
+    payload NVARCHAR(MAX) NOT NULL,
+    error NVARCHAR(1000),
+    created_at DATETIME2 NOT NULL,
+    failed_at DATETIME2 NOT NULL DEFAULT GETDATE()
+);
@@ -0,0 +1,5 @@
+-- V12__Add_account_version.sql
+-- Coluna de versão para locking otimista em accounts
+
+ALTER TABLE accounts
+ADD version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- V13__Backfill_transaction_created_at.sql
+-- created_at passa a ser a chave de paginação por cursor (created_at, id): preencher nulos
+
+UPDATE financial_transactions
+SET created_at = COALESCE(processed_at, updated_at, GETUTCDATE())
+WHERE created_at IS NULL;
+
+CREATE INDEX idx_transactions_created_at_id ON financial_transactions(created_at DESC, id DESC);
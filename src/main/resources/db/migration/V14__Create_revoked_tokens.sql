@@ -0,0 +1,13 @@
+-- V14__Create_revoked_tokens.sql
+-- JTIs de tokens revogados (logout); linhas removidas após o exp do token
+
+CREATE TABLE revoked_tokens (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    jti NVARCHAR(36) NOT NULL,
+    expires_at DATETIME2 NOT NULL,
+    revoked_at DATETIME2 NOT NULL DEFAULT GETUTCDATE(),
+    CONSTRAINT UK_revoked_tokens_jti UNIQUE (jti)
+);
+
+CREATE INDEX IX_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX IX_revoked_tokens_expires_at ON revoked_tokens(expires_at);
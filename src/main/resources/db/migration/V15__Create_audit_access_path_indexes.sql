@@ -0,0 +1,11 @@
+-- V15__Create_audit_access_path_indexes.sql
+-- As consultas de auditoria filtram pela entidade e ordenam/filtram pela data do evento:
+-- (entidade, data) substitui o índice de coluna única, que é prefixo do composto.
+-- Neste schema a data é changed_at/performed_at (created_at nas entidades JPA).
+-- Variante PostgreSQL: db/vendor/postgresql/audit_indexes.sql
+
+DROP INDEX idx_product_audit_product_id ON product_audit_log;
+DROP INDEX idx_financial_audit_account ON financial_audit_log;
+
+CREATE INDEX idx_product_audit_product_created ON product_audit_log(product_id, changed_at);
+CREATE INDEX idx_financial_audit_account_created ON financial_audit_log(account_id, performed_at);
@@ -0,0 +1,19 @@
+-- V16__Create_transaction_access_path_indexes.sql
+-- Um índice por caminho de acesso do FinancialTransactionRepository: filtro + (created_at, id),
+-- na mesma ordem do ORDER BY created_at DESC, id DESC (listagens, cursor e buscas por critério).
+-- Os índices de coluna única de conta/status ficam redundantes (prefixo dos compostos).
+-- Variante PostgreSQL: db/vendor/postgresql/transaction_indexes.sql
+
+DROP INDEX idx_transactions_from_account ON financial_transactions;
+DROP INDEX idx_transactions_to_account ON financial_transactions;
+DROP INDEX idx_transactions_status ON financial_transactions;
+
+CREATE INDEX idx_transactions_from_account_created_id
+    ON financial_transactions(from_account_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_to_account_created_id
+    ON financial_transactions(to_account_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_status_created_id
+    ON financial_transactions(status, created_at DESC, id DESC);
+
+-- Busca de produtos por categoria + faixa de preço
+CREATE INDEX idx_products_category_price ON products(category, price);
@@ -0,0 +1,156 @@
+// TwoLevelCacheManagerTest.java - L1/L2 e invalidação entre nós com Redis simulado em memória
+package com.example.azure_sql_demo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes, each with its own Caffeine L1, share one L2 and one invalidation channel. The L2
+ * is a ConcurrentMapCacheManager and the channel an in-process bus behind StringRedisTemplate,
+ * delivering every message to all subscribed nodes (the sender included) as Redis does.
+ */
+class TwoLevelCacheManagerTest {
+
+    private static final String CHANNEL = "cache-invalidation";
+    private static final String CACHE = "product";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private InProcessPubSub pubSub;
+    private CacheManager remoteCacheManager;
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        pubSub = new InProcessPubSub();
+        remoteCacheManager = new ConcurrentMapCacheManager();
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @Test
+    void localMissIsServedFromRemoteAndPromoted() {
+        nodeA.getCache(CACHE).put(1L, "Notebook");
+
+        TwoLevelCache cacheB = (TwoLevelCache) nodeB.getCache(CACHE);
+        assertThat(cacheB.getLocalCache().get("1")).as("node B L1 before the read").isNull();
+
+        assertThat(cacheB.get(1L, String.class)).isEqualTo("Notebook");
+        assertThat(cacheB.getLocalCache().get("1")).as("node B L1 after the read").isNotNull();
+    }
+
+    @Test
+    void loaderRunsOnlyWhenBothTiersMiss() {
+        nodeA.getCache(CACHE).get(1L, () -> "Notebook");
+
+        String value = nodeB.getCache(CACHE).get(1L, () -> {
+            throw new AssertionError("L2 hit expected, loader must not run");
+        });
+        assertThat(value).isEqualTo("Notebook");
+    }
+
+    @Test
+    void evictInvalidatesOtherNodesLocalCache() {
+        nodeA.getCache(CACHE).put(1L, "Notebook");
+        nodeA.getCache(CACHE).put(2L, "Mouse");
+        TwoLevelCache cacheB = (TwoLevelCache) nodeB.getCache(CACHE);
+        cacheB.get(1L);
+        cacheB.get(2L);
+
+        nodeA.getCache(CACHE).evict(1L);
+
+        assertThat(cacheB.getLocalCache().get("1")).as("evicted key in node B L1").isNull();
+        assertThat(cacheB.getLocalCache().get("2")).as("other key in node B L1").isNotNull();
+        assertThat(remoteCacheManager.getCache(CACHE).get(1L)).as("evicted key in L2").isNull();
+        assertThat(cacheB.get(1L)).isNull();
+    }
+
+    @Test
+    void clearInvalidatesOtherNodesLocalCache() {
+        nodeA.getCache(CACHE).put(1L, "Notebook");
+        TwoLevelCache cacheB = (TwoLevelCache) nodeB.getCache(CACHE);
+        cacheB.get(1L);
+
+        nodeA.getCache(CACHE).clear();
+
+        assertThat(cacheB.getLocalCache().get("1")).isNull();
+        assertThat(cacheB.get(1L)).isNull();
+    }
+
+    @Test
+    void ownInvalidationDoesNotTouchTheSendersFreshEntry() {
+        TwoLevelCache cacheA = (TwoLevelCache) nodeA.getCache(CACHE);
+        cacheA.put(1L, "Notebook");
+        // The sender's message arrives after it has already reloaded the entry
+        pubSub.holdMessages();
+        cacheA.evict(1L);
+        cacheA.put(1L, "Notebook v2");
+        pubSub.release();
+
+        assertThat(cacheA.getLocalCache().get("1")).isNotNull();
+        assertThat(cacheA.get(1L, String.class)).isEqualTo("Notebook v2");
+    }
+
+    // ========== HELPERS ==========
+
+    private TwoLevelCacheManager node() {
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(new CaffeineCacheManager(), remoteCacheManager,
+                pubSub, objectMapper, CHANNEL, List.of(CACHE));
+        pubSub.subscribe(manager);
+        return manager;
+    }
+
+    /**
+     * Redis pub/sub stand-in: convertAndSend hands the payload to every subscriber
+     */
+    private static class InProcessPubSub extends StringRedisTemplate {
+
+        private final List<MessageListener> listeners = new CopyOnWriteArrayList<>();
+        private final List<DefaultMessage> held = new CopyOnWriteArrayList<>();
+        private volatile boolean holding;
+
+        void subscribe(MessageListener listener) {
+            listeners.add(listener);
+        }
+
+        void holdMessages() {
+            holding = true;
+        }
+
+        void release() {
+            holding = false;
+            held.forEach(this::deliver);
+            held.clear();
+        }
+
+        @Override
+        public Long convertAndSend(String channel, Object message) {
+            DefaultMessage redisMessage = new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8),
+                    String.valueOf(message).getBytes(StandardCharsets.UTF_8));
+            if (holding) {
+                held.add(redisMessage);
+            } else {
+                deliver(redisMessage);
+            }
+            return (long) listeners.size();
+        }
+
+        private void deliver(DefaultMessage message) {
+            listeners.forEach(listener -> listener.onMessage(message, null));
+        }
+    }
+}
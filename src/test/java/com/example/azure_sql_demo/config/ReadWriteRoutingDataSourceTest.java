@@ -0,0 +1,146 @@
+// ReadWriteRoutingDataSourceTest.java - Roteamento leitura/escrita com primário e réplica em dois H2
+package com.example.azure_sql_demo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary and replica are two separate in-memory H2 databases, each holding its own name in a
+ * one-row table, so every read shows which database served it. The lag is read from a table on
+ * the replica through the configurable lag query, the same path ReplicaLagMonitor uses in prod.
+ * The replica is opened with IFEXISTS, so once it is shut down it stays unreachable.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MS = 5000;
+    private static final String LAG_QUERY = "SELECT lag_ms FROM replica_lag";
+    private static final String WHICH_NODE = "SELECT name FROM node";
+
+    private DataSource primary;
+    private DataSource replicaDataSource;
+    private ReadReplica replica;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private boolean replicaShutDown;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replicaDataSource = new DriverManagerDataSource(h2Url("replica") + ";IFEXISTS=TRUE", "sa", "");
+        new JdbcTemplate(replicaDataSource).execute("CREATE TABLE replica_lag (lag_ms BIGINT)");
+        new JdbcTemplate(replicaDataSource).update("INSERT INTO replica_lag VALUES (0)");
+
+        replica = new ReadReplica("replica-1", replicaDataSource, MAX_LAG_MS);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, List.of(replica));
+        routingDataSource.afterPropertiesSet();
+        lagMonitor = new ReplicaLagMonitor(List.of(replica), LAG_QUERY, new SimpleMeterRegistry());
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        if (!replicaShutDown) {
+            new JdbcTemplate(replicaDataSource).execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        lagMonitor.check();
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        String writeNode = readWrite.execute(status -> whichNode());
+        assertThat(writeNode).isEqualTo("primary");
+        assertThat(whichNode()).as("outside a transaction").isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        new JdbcTemplate(replicaDataSource).update("UPDATE replica_lag SET lag_ms = ?", MAX_LAG_MS + 1);
+        lagMonitor.check();
+
+        assertThat(replica.isAvailable()).isFalse();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        new JdbcTemplate(replicaDataSource).update("UPDATE replica_lag SET lag_ms = 0");
+        lagMonitor.check();
+
+        assertThat(readOnlyNode()).as("caught up again").isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        lagMonitor.check();
+        new JdbcTemplate(replicaDataSource).execute("SHUTDOWN");
+        replicaShutDown = true;
+        lagMonitor.check();
+
+        assertThat(replica.isAvailable()).isFalse();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void readAfterWriteInSameRequestStaysOnPrimary() {
+        lagMonitor.check();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(readOnlyNode()).as("before the write").isEqualTo("replica");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET updated = TRUE"));
+        assertThat(readOnlyNode()).as("after the write").isEqualTo("primary");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(readOnlyNode()).as("next request").isEqualTo("replica");
+    }
+
+    // ========== HELPERS ==========
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> whichNode());
+    }
+
+    private String whichNode() {
+        return jdbcTemplate.queryForObject(WHICH_NODE, String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource(h2Url(name), "sa", "");
+    }
+
+    /**
+     * Creates a uniquely named in-memory database holding its name, kept open until SHUTDOWN
+     */
+    private static String h2Url(String name) {
+        String url = "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20), updated BOOLEAN DEFAULT FALSE)");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return url;
+    }
+}
@@ -0,0 +1,225 @@
+// FinancialTransactionQueryPlanTest.java - Planos das consultas quentes de transações no PostgreSQL
+package com.example.azure_sql_demo.repository;
+
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the SQL that Hibernate generates for each hot FinancialTransactionRepository path
+ * against a seeded Postgres 16 and fails on any sequential scan of financial_transactions.
+ *
+ * Plans are the generic ones (EXPLAIN (GENERIC_PLAN)), the shape a prepared statement settles on
+ * after a few executions, so the check does not depend on the sample parameter values.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@ActiveProfiles("local")
+@Testcontainers(disabledWithoutDocker = true)
+@Sql(scripts = "/sql/transaction-plan-seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class FinancialTransactionQueryPlanTest {
+
+    private static final String SEQ_SCAN = "Seq Scan on financial_transactions";
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static final CapturingInspector STATEMENTS = new CapturingInspector();
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @TestConfiguration
+    static class InspectorConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, STATEMENTS);
+        }
+    }
+
+    @Autowired
+    private FinancialTransactionRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Simple query protocol: the extended one would expect values for the $n placeholders */
+    private JdbcTemplate explainTemplate;
+
+    private Long accountId;
+    private Long userId;
+    private LocalDateTime cursorCreatedAt;
+    private Long cursorId;
+
+    @BeforeEach
+    void pickSeededRows() {
+        Properties simpleProtocol = new Properties();
+        simpleProtocol.setProperty("preferQueryMode", "simple");
+        DriverManagerDataSource explainDataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        explainDataSource.setConnectionProperties(simpleProtocol);
+        explainTemplate = new JdbcTemplate(explainDataSource);
+
+        accountId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM accounts WHERE account_number LIKE 'PLAN%'", Long.class);
+        userId = jdbcTemplate.queryForObject("SELECT user_id FROM accounts WHERE id = ?", Long.class, accountId);
+        cursorId = jdbcTemplate.queryForObject(
+                "SELECT max(id) FROM financial_transactions WHERE from_account_id = ?", Long.class, accountId);
+        cursorCreatedAt = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM financial_transactions WHERE id = ?", LocalDateTime.class, cursorId);
+    }
+
+    // ========== ACCOUNT ==========
+
+    @Test
+    void accountKeysetPagesUseIndexes() {
+        assertNoSequentialScan(() -> repository.findFirstPageByAccountId(accountId, FIRST_PAGE));
+        assertNoSequentialScan(() -> repository.findPageByAccountIdAfter(accountId, cursorCreatedAt, cursorId, FIRST_PAGE));
+    }
+
+    @Test
+    void accountOffsetPageAndCountUseIndexes() {
+        assertNoSequentialScan(() -> repository.findDtoPageByAccountId(accountId,
+                PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "createdAt"))));
+    }
+
+    // ========== USER ==========
+
+    @Test
+    void userKeysetPagesUseIndexes() {
+        assertNoSequentialScan(() -> repository.findFirstPageByUserId(userId, FIRST_PAGE));
+        assertNoSequentialScan(() -> repository.findPageByUserIdAfter(userId, cursorCreatedAt, cursorId, FIRST_PAGE));
+    }
+
+    @Test
+    void userOffsetPageAndCountUseIndexes() {
+        assertNoSequentialScan(() -> repository.findDtoPageByUserId(userId, PageRequest.of(1, 20)));
+    }
+
+    @Test
+    void recentUserTransactionsUseIndexes() {
+        assertNoSequentialScan(() -> repository.findRecentUserTransactions(userId, cursorCreatedAt.minusDays(7)));
+    }
+
+    // ========== CRITERIA ==========
+
+    @Test
+    void criteriaSearchesUseIndexes() {
+        assertNoSequentialScan(() -> repository.findDtoPageByCriteria(userId,
+                cursorCreatedAt.minusDays(30), cursorCreatedAt, null, FIRST_PAGE));
+        assertNoSequentialScan(() -> repository.findSliceByCriteria(null, null, null,
+                FinancialTransaction.TransactionStatus.PENDING, null, null, FIRST_PAGE));
+        assertNoSequentialScan(() -> repository.findSliceByCriteria(null, null, null,
+                FinancialTransaction.TransactionStatus.FAILED, cursorCreatedAt, cursorId, FIRST_PAGE));
+    }
+
+    @Test
+    void referenceLookupUsesIndex() {
+        assertNoSequentialScan(() -> repository.findDtoByReferenceNumber("PLAN-123456"));
+    }
+
+    // ========== HELPERS ==========
+
+    /**
+     * Run the query, then EXPLAIN every SELECT it issued on financial_transactions
+     */
+    private void assertNoSequentialScan(Runnable query) {
+        List<String> statements = STATEMENTS.capture(query);
+        assertThat(statements).as("captured statements").isNotEmpty();
+
+        for (String sql : statements) {
+            String plan = String.join("\n",
+                    explainTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class));
+            assertThat(plan).as("plan of %s", sql).doesNotContain(SEQ_SCAN);
+        }
+    }
+
+    /**
+     * JDBC ? placeholders to $n, which EXPLAIN (GENERIC_PLAN) accepts without values
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Records the SQL prepared by the thread running a query; statements from schedulers are ignored
+     */
+    static class CapturingInspector implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+        private volatile Thread target;
+
+        List<String> capture(Runnable query) {
+            statements.clear();
+            target = Thread.currentThread();
+            try {
+                query.run();
+            } finally {
+                target = null;
+            }
+            List<String> selects = new ArrayList<>();
+            for (String sql : statements) {
+                if (sql.strip().startsWith("select") && sql.contains("financial_transactions")) {
+                    selects.add(sql);
+                }
+            }
+            return selects;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == target) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+// AuditOutboxRelayTest.java - Relay do outbox com linhas ilegíveis na frente da fila
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.model.AuditOutboxDeadLetter;
+import com.example.azure_sql_demo.model.AuditOutboxEvent;
+import com.example.azure_sql_demo.model.FinancialAuditLog;
+import com.example.azure_sql_demo.repository.AuditOutboxDeadLetterRepository;
+import com.example.azure_sql_demo.repository.AuditOutboxEventRepository;
+import com.example.azure_sql_demo.repository.FinancialAuditLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * More unreadable rows than one relay batch sit at the head of audit_outbox, ahead of valid
+ * entries. The relay moves them to the dead-letter table with their payload, still copies the
+ * valid entries to the audit table, and leaves none of the rows behind in the outbox.
+ */
+@SpringBootTest(properties = {
+        "app.audit.outbox.relay-batch-size=2",
+        "app.audit.outbox.relay-initial-delay-ms=3600000",
+        "app.security.revocation.refresh-interval-ms=3600000",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.example.azure_sql_demo=INFO",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@ActiveProfiles("local")
+class AuditOutboxRelayTest {
+
+    private static final int POISON_EVENTS = 3;
+    private static final int VALID_EVENTS = 2;
+    private static final String UNREADABLE_PAYLOAD = "{not json";
+
+    @Autowired
+    private AuditOutbox auditOutbox;
+
+    @Autowired
+    private AuditOutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AuditOutboxDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private FinancialAuditLogRepository financialAuditLogRepository;
+
+    @Test
+    void unreadableEventsDoNotBlockLaterEvents() {
+        String accountNumber = "AO" + String.format("%08d", ThreadLocalRandom.current().nextInt(100_000_000));
+
+        List<Long> poisonIds = new ArrayList<>();
+        for (int i = 0; i < POISON_EVENTS; i++) {
+            poisonIds.add(outboxEventRepository.save(AuditOutboxEvent.builder()
+                    .logType(AuditOutboxEvent.LogType.FINANCIAL)
+                    .payload(UNREADABLE_PAYLOAD)
+                    .createdAt(LocalDateTime.now())
+                    .build()).getId());
+        }
+        for (int i = 0; i < VALID_EVENTS; i++) {
+            auditOutbox.append(FinancialAuditLog.builder()
+                    .accountNumber(accountNumber)
+                    .action("DEPOSIT")
+                    .amount(BigDecimal.TEN)
+                    .description("Outbox relay test " + i)
+                    .build());
+        }
+
+        auditOutbox.relay();
+
+        assertThat(financialAuditLogRepository.findByAccountNumberOrderByCreatedAtDesc(accountNumber))
+                .as("valid entries behind the unreadable ones")
+                .hasSize(VALID_EVENTS);
+        assertThat(outboxEventRepository.findAllById(poisonIds)).as("unreadable rows left in the outbox").isEmpty();
+
+        List<AuditOutboxDeadLetter> deadLetters = deadLetterRepository.findAll().stream()
+                .filter(deadLetter -> poisonIds.contains(deadLetter.getEventId()))
+                .toList();
+        assertThat(deadLetters).hasSize(POISON_EVENTS);
+        assertThat(deadLetters).allSatisfy(deadLetter -> {
+            assertThat(deadLetter.getPayload()).isEqualTo(UNREADABLE_PAYLOAD);
+            assertThat(deadLetter.getError()).isNotBlank();
+        });
+    }
+}
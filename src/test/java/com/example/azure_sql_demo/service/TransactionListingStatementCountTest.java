@@ -0,0 +1,178 @@
+// TransactionListingStatementCountTest.java - Número de comandos SQL por página de transações
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.model.Account;
+import com.example.azure_sql_demo.model.FinancialTransaction;
+import com.example.azure_sql_demo.model.User;
+import com.example.azure_sql_demo.repository.AccountRepository;
+import com.example.azure_sql_demo.repository.FinancialTransactionRepository;
+import com.example.azure_sql_demo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every transaction listing reads DTOs through projection queries, so the number of statements
+ * per page is fixed: a small and a large page of the same listing issue the same statements,
+ * and no entity (transaction or account) is loaded to build them. Counted with Hibernate
+ * statistics; the schedulers that query through Hibernate are pushed out of the test window.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.audit.outbox.relay-initial-delay-ms=3600000",
+        "app.security.revocation.refresh-interval-ms=3600000",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.example.azure_sql_demo=INFO",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("local")
+class TransactionListingStatementCountTest {
+
+    private static final int TRANSACTIONS = 40;
+    private static final int SMALL_PAGE = 5;
+    private static final int LARGE_PAGE = 30;
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private FinancialTransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long userId;
+    private String accountNumber;
+
+    @BeforeEach
+    void seedTransactions() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String run = String.format("%08d", ThreadLocalRandom.current().nextInt(100_000_000));
+        User owner = userRepository.save(User.builder()
+                .username("listing_" + run)
+                .email("listing_" + run + "@example.com")
+                .password("not-a-real-hash")
+                .build());
+        userId = owner.getId();
+
+        Account checking = openAccount("LC" + run, owner);
+        Account savings = openAccount("LS" + run, owner);
+        accountNumber = checking.getAccountNumber();
+
+        List<FinancialTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            boolean transfer = i % 2 == 0;
+            FinancialTransaction.TransactionType type = transfer
+                    ? FinancialTransaction.TransactionType.TRANSFER
+                    : FinancialTransaction.TransactionType.DEPOSIT;
+            transactions.add(FinancialTransaction.builder()
+                    .transactionType(type)
+                    .amount(BigDecimal.valueOf(10 + i))
+                    .referenceNumber(TransactionReferenceGenerator.generate(type))
+                    .status(FinancialTransaction.TransactionStatus.COMPLETED)
+                    .fromAccount(checking)
+                    .toAccount(transfer ? savings : null)
+                    .build());
+        }
+        transactionRepository.saveAll(transactions);
+    }
+
+    // ========== OFFSET PAGES ==========
+
+    @Test
+    void accountPagesIssueFixedStatements() {
+        assertConstantStatements(size -> transactionService
+                .getTransactionsByAccount(accountNumber, PageRequest.of(0, size)).getNumberOfElements());
+    }
+
+    @Test
+    void userPagesIssueFixedStatements() {
+        assertConstantStatements(size -> transactionService
+                .getUserTransactions(userId, PageRequest.of(0, size)).getNumberOfElements());
+    }
+
+    @Test
+    void criteriaPagesIssueFixedStatements() {
+        LocalDateTime now = LocalDateTime.now();
+        assertConstantStatements(size -> transactionService
+                .searchTransactions(userId, now.minusDays(1), now.plusDays(1), "COMPLETED", PageRequest.of(0, size))
+                .getNumberOfElements());
+    }
+
+    // ========== CURSOR PAGES ==========
+
+    @Test
+    void accountCursorPagesIssueFixedStatements() {
+        assertConstantStatements(size -> transactionService
+                .getTransactionsByAccount(accountNumber, null, size).getSize());
+    }
+
+    @Test
+    void userCursorPagesIssueFixedStatements() {
+        assertConstantStatements(size -> transactionService
+                .getUserTransactions(userId, null, size).getSize());
+    }
+
+    @Test
+    void criteriaCursorPagesIssueFixedStatements() {
+        assertConstantStatements(size -> transactionService
+                .searchTransactions(userId, null, null, null, null, size).getSize());
+    }
+
+    // ========== HELPERS ==========
+
+    /**
+     * Fetch a small and a large page; both must be full, issue the same statements and load no entity
+     */
+    private void assertConstantStatements(IntFunction<Integer> listing) {
+        long smallPageStatements = statementsFor(listing, SMALL_PAGE);
+        long largePageStatements = statementsFor(listing, LARGE_PAGE);
+
+        assertThat(smallPageStatements).isPositive();
+        assertThat(largePageStatements).as("statements for a page of %d", LARGE_PAGE)
+                .isEqualTo(smallPageStatements);
+    }
+
+    private long statementsFor(IntFunction<Integer> listing, int size) {
+        statistics.clear();
+        int rows = listing.apply(size);
+
+        assertThat(rows).as("rows in a page of %d", size).isEqualTo(size);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded for a page of %d", size).isZero();
+        assertThat(statistics.getEntityFetchCount()).as("lazy fetches for a page of %d", size).isZero();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Account openAccount(String number, User owner) {
+        return accountRepository.save(Account.builder()
+                .accountNumber(number)
+                .accountType(Account.AccountType.CHECKING)
+                .balance(new BigDecimal("1000.00"))
+                .user(owner)
+                .build());
+    }
+}
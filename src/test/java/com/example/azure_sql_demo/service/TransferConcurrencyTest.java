@@ -0,0 +1,132 @@
+// TransferConcurrencyTest.java - Transferências paralelas sobre as mesmas contas
+package com.example.azure_sql_demo.service;
+
+import com.example.azure_sql_demo.dto.TransferRequest;
+import com.example.azure_sql_demo.model.Account;
+import com.example.azure_sql_demo.model.User;
+import com.example.azure_sql_demo.repository.AccountRepository;
+import com.example.azure_sql_demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 64 transfers released at once over a few accounts, in both directions, so they contend for
+ * the same row locks. Every transfer must complete (ordered locking plus retry), and money is
+ * neither created nor lost: each balance moves by exactly its transfers and the total is unchanged.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "spring.datasource.hikari.connection-timeout=30000",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.example.azure_sql_demo=INFO",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@ActiveProfiles("local")
+class TransferConcurrencyTest {
+
+    private static final int ACCOUNTS = 6;
+    private static final int TRANSFERS = 64;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void parallelTransfersConserveTotalBalance() throws Exception {
+        List<String> accountNumbers = openAccounts();
+        BigDecimal totalBefore = totalBalance(accountNumbers);
+
+        List<TransferRequest> transfers = new ArrayList<>();
+        Map<String, BigDecimal> expected = new HashMap<>();
+        accountNumbers.forEach(number -> expected.put(number, OPENING_BALANCE));
+        for (int i = 0; i < TRANSFERS; i++) {
+            String from = accountNumbers.get(i % ACCOUNTS);
+            String to = accountNumbers.get((i + 1 + i / ACCOUNTS % (ACCOUNTS - 1)) % ACCOUNTS);
+            BigDecimal amount = BigDecimal.valueOf(1 + i % 7, 0).add(new BigDecimal("0.25"));
+            transfers.add(TransferRequest.builder()
+                    .fromAccountNumber(from)
+                    .toAccountNumber(to)
+                    .amount(amount)
+                    .description("Concurrency test " + i)
+                    .build());
+            expected.merge(from, amount.negate(), BigDecimal::add);
+            expected.merge(to, amount, BigDecimal::add);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(TRANSFERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (TransferRequest transfer : transfers) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return transactionService.transfer(transfer);
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(totalBalance(accountNumbers)).isEqualByComparingTo(totalBefore);
+        for (String number : accountNumbers) {
+            assertThat(balanceOf(number)).as("balance of %s", number).isEqualByComparingTo(expected.get(number));
+        }
+    }
+
+    // ========== HELPERS ==========
+
+    private List<String> openAccounts() {
+        String run = String.format("%08d", ThreadLocalRandom.current().nextInt(100_000_000));
+        User owner = userRepository.save(User.builder()
+                .username("stress_" + run)
+                .email("stress_" + run + "@example.com")
+                .password("not-a-real-hash")
+                .build());
+
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = accountRepository.save(Account.builder()
+                    .accountNumber(String.format("ST%02d%s", i, run))
+                    .accountType(Account.AccountType.CHECKING)
+                    .balance(OPENING_BALANCE)
+                    .user(owner)
+                    .build());
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private BigDecimal totalBalance(List<String> accountNumbers) {
+        return accountNumbers.stream().map(this::balanceOf).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private BigDecimal balanceOf(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance();
+    }
+}
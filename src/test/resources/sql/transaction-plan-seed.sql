@@ -0,0 +1,25 @@
+-- transaction-plan-seed.sql - Volume para o teste de planos (FinancialTransactionQueryPlanTest)
+-- 2.000 usuários, 2 contas cada e 200.000 transações ao longo de ~140 dias; PENDING/FAILED raros.
+-- ANALYZE no fim para o planner enxergar o volume real.
+
+INSERT INTO users (username, email, password, is_enabled, is_account_non_expired, is_account_non_locked,
+                   is_credentials_non_expired, failed_login_attempts, created_at)
+SELECT 'plan_user_' || g, 'plan_user_' || g || '@example.com', 'not-a-hash', true, true, true, true, 0, now()
+FROM generate_series(1, 2000) g;
+
+INSERT INTO accounts (account_number, account_type, balance, currency, is_active, is_frozen, user_id, version, created_at)
+SELECT 'PLAN' || lpad(u.id::text, 8, '0') || k.suffix, k.kind, 1000, 'USD', true, false, u.id, 0, now()
+FROM users u
+CROSS JOIN (VALUES ('C', 'CHECKING'), ('S', 'SAVINGS')) AS k(suffix, kind)
+WHERE u.username LIKE 'plan_user_%';
+
+INSERT INTO financial_transactions (transaction_type, amount, description, reference_number, status,
+                                    from_account_id, to_account_id, created_at)
+SELECT 'TRANSFER', (g % 500) + 1, 'Plan seed ' || g, 'PLAN-' || g,
+       CASE WHEN g % 100 = 0 THEN 'PENDING' WHEN g % 100 = 1 THEN 'FAILED' ELSE 'COMPLETED' END,
+       a.first_id + (g::bigint * 7919) % a.total, a.first_id + (g::bigint * 104729 + 1) % a.total,
+       timestamp '2024-01-01' + g * interval '1 minute'
+FROM generate_series(1, 200000) g,
+     (SELECT min(id) AS first_id, count(*) AS total FROM accounts WHERE account_number LIKE 'PLAN%') a;
+
+ANALYZE;